@@ -0,0 +1,47 @@
+package com.example.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out user ids the same way Hibernate's pooled optimizer does in the MVC service: every
+ * {@code nextval} of {@code users_id_seq} (INCREMENT BY {@code allocationSize}) reserves the block
+ * {@code (value - allocationSize, value]}, so both services can insert into the same table.
+ */
+class PooledIdAllocator {
+
+    private final DatabaseClient databaseClient;
+    private final String sequence;
+    private final int allocationSize;
+
+    private long next;
+    private long hi;
+
+    PooledIdAllocator(DatabaseClient databaseClient, String sequence, int allocationSize) {
+        this.databaseClient = databaseClient;
+        this.sequence = sequence;
+        this.allocationSize = allocationSize;
+    }
+
+    Mono<Long> nextId() {
+        synchronized (this) {
+            if (next > 0 && next <= hi) {
+                return Mono.just(next++);
+            }
+        }
+        return databaseClient.sql("select nextval('" + sequence + "')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(this::startBlock);
+    }
+
+    private synchronized long startBlock(long blockHi) {
+        // if another caller refilled first, this block is abandoned, which only leaves a gap
+        if (next == 0 || next > hi) {
+            hi = blockHi;
+            // the very first nextval of a fresh sequence returns its start value, not a block end
+            next = Math.max(1, blockHi - allocationSize + 1);
+        }
+        return next++;
+    }
+}
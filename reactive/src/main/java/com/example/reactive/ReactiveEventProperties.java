@@ -0,0 +1,20 @@
+package com.example.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.events")
+public class ReactiveEventProperties {
+
+    private boolean enabled = true;
+
+    private String topic = "user-events";
+
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * json | binary, see {@link com.example.kafka.UserEventSerializers}.
+     */
+    private String format = "json";
+}
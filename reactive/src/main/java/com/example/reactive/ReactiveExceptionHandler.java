@@ -0,0 +1,72 @@
+package com.example.reactive;
+
+import com.example.dto.ErrorResponse;
+import com.example.exception.DomainException;
+import com.example.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Same status codes and {@link ErrorResponse} bodies as the MVC {@code GlobalExceptionHandler}.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex, ServerHttpRequest request) {
+        log.warn("{} for {}: {}", ex.getCode(), request.getPath().value(), ex.getMessage());
+        ErrorResponse body = ErrorResponse.of(ex.getCode(), ex.getMessage(), request.getPath().value());
+        return ResponseEntity.status(body.getStatus()).body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleIllegalArgument(IllegalArgumentException ex, ServerHttpRequest request) {
+        log.warn("Invalid argument: {}", ex.getMessage());
+        return ErrorResponse.of(ErrorCode.INVALID_ARGUMENT, ex.getMessage(), request.getPath().value());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleValidation(WebExchangeBindException ex, ServerHttpRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors()
+                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+        log.warn("Validation failed for {}: {}", request.getPath().value(), errors);
+        return ErrorResponse.of(ErrorCode.VALIDATION_FAILED, "Validation failed", errors, request.getPath().value());
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInput(ServerWebInputException ex, ServerHttpRequest request) {
+        log.warn("Invalid request for {}: {}", request.getPath().value(), ex.getReason());
+        return ErrorResponse.of(ErrorCode.INVALID_ARGUMENT, ex.getReason(), request.getPath().value());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleDataIntegrityViolation(DataIntegrityViolationException ex, ServerHttpRequest request) {
+        log.error("Data integrity violation for {}: {}", request.getPath().value(), ex.getMessage());
+        return ErrorResponse.of(ErrorCode.DATA_INTEGRITY_VIOLATION, "Data integrity violation", request.getPath().value());
+    }
+
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleGenericException(Exception ex, ServerHttpRequest request) {
+        log.error("Internal server error: {}: {}", request.getPath().value(), ex.getMessage(), ex);
+        return ErrorResponse.of(ErrorCode.INTERNAL_ERROR, "Internal server error", request.getPath().value());
+    }
+}
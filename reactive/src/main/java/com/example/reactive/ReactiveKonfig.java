@@ -0,0 +1,76 @@
+package com.example.reactive;
+
+import com.example.kafka.BinaryUserEventSerializer;
+import com.example.kafka.JsonUserEventSerializer;
+import com.example.kafka.UserEventSerializers;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.LinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class ReactiveKonfig {
+
+    /**
+     * Renders {@code RepresentationModel} links as HAL {@code _links} for plain application/json,
+     * matching the MVC service.
+     */
+    @Bean
+    public Module jackson2HalModule() {
+        return new Jackson2HalModule();
+    }
+
+    @Bean
+    public LinkRelationProvider linkRelationProvider() {
+        return new DefaultLinkRelationProvider();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer halHandlerInstantiator(LinkRelationProvider linkRelationProvider) {
+        return builder -> builder.handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                linkRelationProvider, CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+    }
+
+    @Bean
+    public UserEventSerializers userEventSerializers(ObjectMapper objectMapper, ReactiveEventProperties properties) {
+        return new UserEventSerializers(
+                List.of(new JsonUserEventSerializer(objectMapper), new BinaryUserEventSerializer()),
+                properties.getFormat());
+    }
+
+    @Bean
+    public ReactiveUserEventPublisher reactiveUserEventPublisher(UserEventSerializers serializers,
+                                                                 ReactiveEventProperties properties) {
+        if (!properties.isEnabled()) {
+            return new ReactiveUserEventPublisher(null, serializers, properties.getTopic());
+        }
+        SenderOptions<String, byte[]> options = SenderOptions.<String, byte[]>create(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.ACKS_CONFIG, "all"));
+        return new ReactiveUserEventPublisher(KafkaSender.create(options), serializers, properties.getTopic());
+    }
+
+    @Bean
+    public PooledIdAllocator userIdAllocator(DatabaseClient databaseClient,
+                                             @Value("${app.users.id-allocation-size:50}") int allocationSize) {
+        return new PooledIdAllocator(databaseClient, "users_id_seq", allocationSize);
+    }
+}
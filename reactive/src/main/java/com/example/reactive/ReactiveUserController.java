@@ -0,0 +1,166 @@
+package com.example.reactive;
+
+import com.example.dto.UserBatchResponse;
+import com.example.dto.UserRequest;
+import com.example.dto.UserResponse;
+import com.example.dto.UserUpdateRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping(ReactiveUserController.BASE_PATH)
+@RequiredArgsConstructor
+@Tag(name = "User Management (reactive)", description = "Неблокирующая реализация API управления пользователями")
+public class ReactiveUserController {
+
+    public static final String BASE_PATH = "/api/users";
+
+    private final ReactiveUserService userService;
+    private final ReactiveUserLinks userLinks;
+
+    @Operation(summary = "Создать нового пользователя")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<UserResponse> createUser(
+            @Parameter(description = "Данные нового пользователя", required = true)
+            @Valid @RequestBody UserRequest request,
+            ServerHttpRequest httpRequest) {
+
+        ReactiveUserLinks.Templates links = userLinks.forRequest(httpRequest);
+        return userService.createUser(request).map(response -> {
+            response.add(links.item(response.getId(), IanaLinkRelations.SELF));
+            response.add(links.collection());
+            response.add(links.item(response.getId(), ReactiveUserLinks.UPDATE));
+            response.add(links.item(response.getId(), ReactiveUserLinks.DELETE));
+            response.add(links.byEmail(response.getEmail(), ReactiveUserLinks.BY_EMAIL));
+            return response;
+        });
+    }
+
+    @Operation(summary = "Создать пользователей пакетом")
+    @PostMapping("/batch")
+    public Mono<UserBatchResponse> createUsers(
+            @Parameter(description = "Список новых пользователей", required = true)
+            @RequestBody List<UserRequest> requests) {
+
+        return userService.createUsers(requests);
+    }
+
+    @Operation(summary = "Получить пользователя по ID")
+    @GetMapping("/{id}")
+    public Mono<UserResponse> getUserById(
+            @Parameter(description = "ID пользователя", example = "1", required = true)
+            @PathVariable Long id,
+            ServerHttpRequest httpRequest) {
+
+        ReactiveUserLinks.Templates links = userLinks.forRequest(httpRequest);
+        return userService.getUserById(id).map(response -> {
+            response.add(links.item(id, IanaLinkRelations.SELF));
+            response.add(links.collection());
+            response.add(links.item(id, ReactiveUserLinks.UPDATE));
+            response.add(links.item(id, ReactiveUserLinks.DELETE));
+            response.add(links.byEmail(response.getEmail(), ReactiveUserLinks.BY_EMAIL));
+            return response;
+        });
+    }
+
+    @Operation(summary = "Получить список пользователей", description = "Постраничная выдача по курсору")
+    @GetMapping
+    public Mono<CollectionModel<UserResponse>> getAllUsers(
+            @Parameter(description = "Курсор, полученный из ссылки next предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы (не более " + ReactiveUserService.MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false) Integer limit,
+
+            ServerHttpRequest httpRequest) {
+
+        ReactiveUserLinks.Templates links = userLinks.forRequest(httpRequest);
+        return userService.getUsers(after, limit).map(page -> {
+            page.getUsers().forEach(user -> {
+                user.add(links.item(user.getId(), IanaLinkRelations.SELF));
+                user.add(links.item(user.getId(), ReactiveUserLinks.UPDATE));
+                user.add(links.item(user.getId(), ReactiveUserLinks.DELETE));
+                user.add(links.byEmail(user.getEmail(), ReactiveUserLinks.BY_EMAIL));
+            });
+
+            List<Link> pageLinks = new ArrayList<>();
+            pageLinks.add(links.page(after, limit, IanaLinkRelations.SELF));
+            if (page.hasNext()) {
+                pageLinks.add(links.page(page.getNextCursor(), limit, IanaLinkRelations.NEXT));
+            }
+            pageLinks.add(links.create());
+            return CollectionModel.of(page.getUsers(), pageLinks);
+        });
+    }
+
+    @Operation(summary = "Выгрузить всех пользователей", description = "Потоковая выгрузка в формате NDJSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponse> exportUsers() {
+        return userService.exportUsers();
+    }
+
+    @Operation(summary = "Получить пользователя по email")
+    @GetMapping("/email/{email}")
+    public Mono<UserResponse> getUserByEmail(
+            @Parameter(description = "Email пользователя", example = "user@example.com", required = true)
+            @PathVariable String email,
+            ServerHttpRequest httpRequest) {
+
+        ReactiveUserLinks.Templates links = userLinks.forRequest(httpRequest);
+        return userService.getUserByEmail(email).map(response -> {
+            response.add(links.byEmail(email, IanaLinkRelations.SELF));
+            response.add(links.item(response.getId(), ReactiveUserLinks.BY_ID));
+            response.add(links.collection());
+            response.add(links.item(response.getId(), ReactiveUserLinks.UPDATE));
+            response.add(links.item(response.getId(), ReactiveUserLinks.DELETE));
+            return response;
+        });
+    }
+
+    @Operation(summary = "Обновить пользователя")
+    @PutMapping("/{id}")
+    public Mono<UserResponse> updateUser(
+            @Parameter(description = "ID пользователя", example = "1", required = true)
+            @PathVariable Long id,
+
+            @Parameter(description = "Обновленные данные пользователя", required = true)
+            @Valid @RequestBody UserUpdateRequest request,
+
+            ServerHttpRequest httpRequest) {
+
+        ReactiveUserLinks.Templates links = userLinks.forRequest(httpRequest);
+        return userService.updateUser(id, request).map(response -> {
+            response.add(links.item(id, IanaLinkRelations.SELF));
+            response.add(links.collection());
+            response.add(links.item(id, ReactiveUserLinks.DELETE));
+            response.add(links.byEmail(response.getEmail(), ReactiveUserLinks.BY_EMAIL));
+            return response;
+        });
+    }
+
+    @Operation(summary = "Удалить пользователя")
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteUser(
+            @Parameter(description = "ID пользователя", example = "1", required = true)
+            @PathVariable Long id) {
+
+        return userService.deleteUser(id);
+    }
+}
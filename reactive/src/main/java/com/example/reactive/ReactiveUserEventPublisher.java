@@ -0,0 +1,63 @@
+package com.example.reactive;
+
+import com.example.kafka.UserEvent;
+import com.example.kafka.UserEventSerializer;
+import com.example.kafka.UserEventSerializers;
+import com.example.kafka.UserEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+/**
+ * Sends user events with reactor-kafka. Events are sent after the database transaction commits, as part
+ * of the request, which completes once the broker acknowledged or rejected the event. They are not retried
+ * from a durable store: unlike the MVC service there is no outbox, so an event whose send fails (or that
+ * was never sent because the process died between commit and send) is lost and only logged.
+ */
+@Slf4j
+public class ReactiveUserEventPublisher {
+
+    private final KafkaSender<String, byte[]> sender;
+    private final UserEventSerializers serializers;
+    private final String topic;
+
+    public ReactiveUserEventPublisher(KafkaSender<String, byte[]> sender, UserEventSerializers serializers,
+                                      String topic) {
+        this.sender = sender;
+        this.serializers = serializers;
+        this.topic = topic;
+    }
+
+    public Mono<Void> publish(UserEventType eventType, UserRow user) {
+        return publish(eventType, user, null);
+    }
+
+    /** {@code previousEmail} is set for a {@link UserEventType#USER_UPDATED} that changed the email. */
+    public Mono<Void> publish(UserEventType eventType, UserRow user, String previousEmail) {
+        if (sender == null) {
+            return Mono.empty();
+        }
+        UserEvent event = new UserEvent(eventType, user.getEmail(), user.getId(), user.getName(),
+                System.currentTimeMillis(), previousEmail);
+        UserEventSerializer serializer = serializers.active();
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null, event.getEmail(),
+                serializer.serialize(event), serializers.headersFor(serializer));
+
+        return sender.send(Mono.just(SenderRecord.create(record, event.getUserId())))
+                .next()
+                .flatMap(result -> result.exception() != null ? Mono.<Void>error(result.exception()) : Mono.<Void>empty())
+                .doOnSuccess(ignored -> log.debug("Event acknowledged: {} for user {}", eventType, user.getId()))
+                .onErrorResume(e -> {
+                    log.error("Failed to send {} event for user {}: {}", eventType, user.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void close() {
+        if (sender != null) {
+            sender.close();
+        }
+    }
+}
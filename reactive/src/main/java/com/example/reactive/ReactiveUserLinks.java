@@ -0,0 +1,76 @@
+package com.example.reactive;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String-template links with the same relations and hrefs as the MVC {@code UserLinks}.
+ */
+@Component
+public class ReactiveUserLinks {
+
+    public static final LinkRelation UPDATE = LinkRelation.of("update");
+    public static final LinkRelation DELETE = LinkRelation.of("delete");
+    public static final LinkRelation BY_EMAIL = LinkRelation.of("by-email");
+    public static final LinkRelation BY_ID = LinkRelation.of("by-id");
+    public static final LinkRelation CREATE = LinkRelation.of("create");
+
+    public Templates forRequest(ServerHttpRequest request) {
+        String root = UriComponentsBuilder.fromHttpRequest(request)
+                .replacePath(ReactiveUserController.BASE_PATH)
+                .replaceQuery(null)
+                .build()
+                .toUriString();
+        return new Templates(root);
+    }
+
+    public static final class Templates {
+
+        private final String collectionHref;
+        private final String itemPrefix;
+        private final String emailPrefix;
+
+        Templates(String root) {
+            this.collectionHref = root;
+            this.itemPrefix = root + "/";
+            this.emailPrefix = root + "/email/";
+        }
+
+        public Link item(Long id, LinkRelation relation) {
+            return Link.of(itemPrefix + id, relation);
+        }
+
+        public Link byEmail(String email, LinkRelation relation) {
+            return Link.of(emailPrefix + UriUtils.encodePathSegment(email, StandardCharsets.UTF_8), relation);
+        }
+
+        public Link collection() {
+            return Link.of(collectionHref, IanaLinkRelations.COLLECTION);
+        }
+
+        public Link create() {
+            return Link.of(collectionHref, CREATE);
+        }
+
+        public Link page(String after, Integer limit, LinkRelation relation) {
+            StringBuilder href = new StringBuilder(collectionHref);
+            char separator = '?';
+            if (after != null) {
+                href.append(separator).append("after=")
+                        .append(UriUtils.encodeQueryParam(after, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+            if (limit != null) {
+                href.append(separator).append("limit=").append(limit);
+            }
+            return Link.of(href.toString(), relation);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+
+    Mono<UserRow> findByEmail(String email);
+
+    @Query("select email from users where email in (:emails)")
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select * from users where id > :afterId order by id limit :limit")
+    Flux<UserRow> findPage(long afterId, int limit);
+
+    @Query("select * from users order by id")
+    Flux<UserRow> streamAllOrderedById();
+}
@@ -0,0 +1,241 @@
+package com.example.reactive;
+
+import com.example.dto.UserBatchItemResult;
+import com.example.dto.UserBatchResponse;
+import com.example.dto.UserPage;
+import com.example.dto.UserRequest;
+import com.example.dto.UserResponse;
+import com.example.dto.UserUpdateRequest;
+import com.example.exception.UserAlreadyExistsException;
+import com.example.exception.UserNotFoundException;
+import com.example.exception.UserVersionConflictException;
+import com.example.kafka.UserEventType;
+import com.example.service.UserCursor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@code com.example.service.UserService} with the same validation rules,
+ * error messages and paging limits. Events go out after commit within the request, without an outbox:
+ * see {@link ReactiveUserEventPublisher} for what that means for delivery.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReactiveUserRepository userRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final PooledIdAllocator idAllocator;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveUserEventPublisher eventPublisher;
+    private final Validator validator;
+
+    public Mono<UserResponse> createUser(UserRequest request) {
+        String email = request.getEmail() != null ? request.getEmail().trim().toLowerCase() : "";
+        String name = request.getName() != null ? request.getName().trim() : "";
+
+        return insert(name, email, request.getAge())
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new UserAlreadyExistsException("Email already exists: " + email, e))
+                .doOnNext(saved -> log.info("Created user with id: {}, email: {}", saved.getId(), saved.getEmail()))
+                .flatMap(saved -> eventPublisher.publish(UserEventType.USER_CREATED, saved).thenReturn(saved))
+                .map(ReactiveUserService::mapToResponse);
+    }
+
+    public Mono<UserBatchResponse> createUsers(List<UserRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Batch must contain at least one user"));
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new IllegalArgumentException("Batch size must not exceed " + MAX_BATCH_SIZE));
+        }
+
+        UserBatchItemResult[] results = new UserBatchItemResult[requests.size()];
+        Map<String, Integer> indexesByEmail = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            UserRequest request = requests.get(i);
+            Set<ConstraintViolation<UserRequest>> violations = request != null
+                    ? validator.validate(request) : Set.of();
+
+            if (request == null || !violations.isEmpty()) {
+                Map<String, String> details = new LinkedHashMap<>();
+                violations.forEach(v -> details.put(v.getPropertyPath().toString(), v.getMessage()));
+                results[i] = UserBatchItemResult.failed(i, HttpStatus.BAD_REQUEST, "Validation failed", details);
+                continue;
+            }
+
+            String email = request.getEmail().trim().toLowerCase();
+            if (indexesByEmail.putIfAbsent(email, i) != null) {
+                results[i] = UserBatchItemResult.failed(i, HttpStatus.CONFLICT, "Duplicate email in batch: " + email);
+            }
+        }
+
+        Mono<Set<String>> existingEmails = indexesByEmail.isEmpty()
+                ? Mono.just(Set.of())
+                : userRepository.findExistingEmails(indexesByEmail.keySet()).collect(HashSet::new, Set::add);
+
+        return existingEmails
+                .flatMapMany(existing -> Flux.fromIterable(indexesByEmail.entrySet())
+                        .filter(entry -> {
+                            if (existing.contains(entry.getKey())) {
+                                results[entry.getValue()] = UserBatchItemResult.failed(entry.getValue(),
+                                        HttpStatus.CONFLICT, "Email already exists: " + entry.getKey());
+                                return false;
+                            }
+                            return true;
+                        }))
+                .concatMap(entry -> {
+                    UserRequest request = requests.get(entry.getValue());
+                    return insert(request.getName().trim(), entry.getKey(), request.getAge())
+                            .doOnNext(saved -> results[entry.getValue()] =
+                                    UserBatchItemResult.created(entry.getValue(), mapToResponse(saved)));
+                })
+                .collectList()
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> log.info("Batch created {} of {} users", saved.size(), requests.size()))
+                .flatMap(saved -> Flux.fromIterable(saved)
+                        .concatMap(user -> eventPublisher.publish(UserEventType.USER_CREATED, user))
+                        .then(Mono.just(saved)))
+                .map(saved -> UserBatchResponse.builder()
+                        .created(saved.size())
+                        .failed(requests.size() - saved.size())
+                        .results(Arrays.asList(results))
+                        .build());
+    }
+
+    public Mono<UserResponse> getUserById(Long id) {
+        return userRepository.findById(id)
+                .map(ReactiveUserService::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + id)));
+    }
+
+    public Mono<UserResponse> getUserByEmail(String email) {
+        String normalizedEmail = email.trim().toLowerCase();
+        return userRepository.findByEmail(normalizedEmail)
+                .map(ReactiveUserService::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with email: " + email)));
+    }
+
+    public Mono<UserPage> getUsers(String after, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = resolvePageSize(limit);
+            long afterId = after != null && !after.isBlank() ? UserCursor.decode(after) : 0L;
+
+            return userRepository.findPage(afterId, pageSize + 1)
+                    .map(ReactiveUserService::mapToResponse)
+                    .collectList()
+                    .map(rows -> {
+                        boolean hasNext = rows.size() > pageSize;
+                        List<UserResponse> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+                        String nextCursor = hasNext ? UserCursor.encode(pageRows.get(pageSize - 1).getId()) : null;
+                        return new UserPage(pageRows, nextCursor);
+                    });
+        });
+    }
+
+    public Flux<UserResponse> exportUsers() {
+        return userRepository.streamAllOrderedById().map(ReactiveUserService::mapToResponse);
+    }
+
+    public Mono<UserResponse> updateUser(Long id, UserUpdateRequest request) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + id)))
+                .flatMap(user -> {
+                    String previousEmail = user.getEmail();
+                    if (request.getName() != null && !request.getName().isBlank()) {
+                        user.setName(request.getName().trim());
+                    }
+                    if (request.getEmail() != null && !request.getEmail().isBlank()) {
+                        user.setEmail(request.getEmail().trim().toLowerCase());
+                    }
+                    if (request.getAge() != null) {
+                        if (request.getAge() < 0 || request.getAge() > 120) {
+                            return Mono.error(new IllegalArgumentException("Age must be between 0 and 120"));
+                        }
+                        user.setAge(request.getAge());
+                    }
+                    return entityTemplate.update(user).map(updated -> Tuples.of(updated,
+                            Optional.ofNullable(previousEmail.equals(updated.getEmail()) ? null : previousEmail)));
+                })
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new UserAlreadyExistsException("Email already exists", e))
+                .onErrorMap(OptimisticLockingFailureException.class,
+                        e -> UserVersionConflictException.concurrentUpdate(id))
+                .doOnNext(updated -> log.info("Updated user with id: {}", id))
+                .flatMap(updated -> eventPublisher.publish(UserEventType.USER_UPDATED, updated.getT1(),
+                                updated.getT2().orElse(null))
+                        .thenReturn(updated.getT1()))
+                .map(ReactiveUserService::mapToResponse);
+    }
+
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + id)))
+                .flatMap(user -> userRepository.delete(user).thenReturn(user))
+                .as(transactionalOperator::transactional)
+                .doOnNext(user -> log.info("Deleted user with id: {}, email: {}", id, user.getEmail()))
+                .flatMap(user -> eventPublisher.publish(UserEventType.USER_DELETED, user))
+                .then();
+    }
+
+    private Mono<UserRow> insert(String name, String email, Integer age) {
+        return idAllocator.nextId()
+                .flatMap(id -> entityTemplate.insert(UserRow.builder()
+                        .id(id)
+                        .name(name)
+                        .email(email)
+                        .age(age)
+                        .createdAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                        .build()));
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    static UserResponse mapToResponse(UserRow user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .age(user.getAge())
+                .createdAt(user.getCreatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code users} table owned by the MVC service (and its Flyway migrations).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("users")
+public class UserRow {
+
+    @Id
+    @With
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private Integer age;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,10 @@
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT PRIMARY KEY,
+    name       VARCHAR(100) NOT NULL,
+    email      VARCHAR(100) NOT NULL CONSTRAINT uk_users_email UNIQUE,
+    age        INTEGER,
+    created_at TIMESTAMP(6),
+    version    BIGINT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,133 @@
+package com.example.reactive;
+
+import com.example.dto.UserRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Same load as the MVC {@code WebTierLoadBenchmarkTest} against the WebFlux/R2DBC service: many more
+ * concurrent clients than pooled connections, served from a handful of event loop threads.
+ * Run with {@code mvn -f reactive/pom.xml test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ReactiveLoadBenchmarkTest {
+
+    private static final int USERS = 2_000;
+    private static final int CLIENTS = 400;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int REQUESTS = 40_000;
+
+    @Test
+    void eventLoop() throws Exception {
+        Result result = run("reactive");
+        System.out.println(result);
+        assertThat(result.errors()).isZero();
+    }
+
+    private Result run(String mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveUserApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+
+            long[] ids = seed(context.getBean(ReactiveUserService.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/users/";
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            load(client, base, ids, WARMUP_REQUESTS, new long[WARMUP_REQUESTS], new AtomicInteger());
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            load(client, base, ids, REQUESTS, latencies, errors);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(mode, REQUESTS * 1_000_000_000.0 / elapsed,
+                    latencies[(int) (REQUESTS * 0.50)] / 1_000_000.0,
+                    latencies[(int) (REQUESTS * 0.99)] / 1_000_000.0,
+                    latencies[REQUESTS - 1] / 1_000_000.0,
+                    errors.get());
+        }
+    }
+
+    private void load(HttpClient client, String base, long[] ids, int requests, long[] latencies,
+                      AtomicInteger errors) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> workers = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                workers.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + id)).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private long[] seed(ReactiveUserService userService) {
+        List<Long> ids = new ArrayList<>(USERS);
+        for (int from = 0; from < USERS; from += ReactiveUserService.MAX_BATCH_SIZE) {
+            List<UserRequest> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + ReactiveUserService.MAX_BATCH_SIZE, USERS); i++) {
+                UserRequest request = new UserRequest();
+                request.setName("Load User " + i);
+                request.setEmail("load" + i + "@example.com");
+                request.setAge(30);
+                batch.add(request);
+            }
+            userService.createUsers(batch).block().getResults().forEach(result -> ids.add(result.getUser().getId()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Result(String mode, double requestsPerSecond, double p50Millis, double p99Millis,
+                          double maxMillis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,8.0f req/s  p50 %6.2f ms  p99 %7.2f ms  max %7.2f ms  errors %d",
+                    mode, requestsPerSecond, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.reactive;
+
+import com.example.dto.UserRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void createUser_ValidRequest_ShouldReturnCreatedWithLinks() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("John Doe", "John.Doe@Example.com", 30))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").exists()
+                .jsonPath("$.name").isEqualTo("John Doe")
+                .jsonPath("$.email").isEqualTo("john.doe@example.com")
+                .jsonPath("$.createdAt").exists()
+                .jsonPath("$._links.update.href").value(href -> assertThat((String) href)
+                        .matches("http://localhost:\\d+/api/users/\\d+"));
+    }
+
+    @Test
+    void createUser_DuplicateEmail_ShouldReturnConflict() {
+        create("User One", "duplicate@example.com");
+
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("User Two", "duplicate@example.com", 25))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.path").isEqualTo("/api/users");
+    }
+
+    @Test
+    void createUser_InvalidRequest_ShouldReturnBadRequest() {
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request("", "not-an-email", 30))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.details.email").exists();
+    }
+
+    @Test
+    void getUserById_And_ByEmail_ShouldReturnUser() {
+        long id = create("Jane Doe", "jane@example.com");
+
+        webTestClient.get().uri("/api/users/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("jane@example.com");
+
+        webTestClient.get().uri("/api/users/email/{email}", "JANE@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(id);
+
+        webTestClient.get().uri("/api/users/{id}", id + 1_000)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getAllUsers_ShouldPageByCursor() {
+        for (int i = 0; i < 3; i++) {
+            create("User " + i, "page" + i + "@example.com");
+        }
+
+        AtomicReference<String> next = new AtomicReference<>();
+        webTestClient.get().uri("/api/users?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.userResponseList.length()").isEqualTo(2)
+                .jsonPath("$._links.next.href").value(href -> next.set((String) href));
+
+        assertThat(next.get()).contains("after=");
+
+        webTestClient.get().uri(next.get())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$._embedded.userResponseList.length()").isEqualTo(1)
+                .jsonPath("$._links.next").doesNotExist();
+    }
+
+    @Test
+    void createUsers_Batch_ShouldReportPerItemResults() {
+        create("Existing", "existing@example.com");
+
+        webTestClient.post().uri("/api/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        request("New", "new@example.com", 20),
+                        request("Existing", "existing@example.com", 20),
+                        request("", "bad", 20)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(2)
+                .jsonPath("$.results[1].status").isEqualTo(409)
+                .jsonPath("$.results[2].status").isEqualTo(400);
+    }
+
+    @Test
+    void exportUsers_ShouldStreamNdjson() {
+        create("Alice", "a@example.com");
+        create("Bob", "b@example.com");
+
+        List<String> lines = webTestClient.get().uri("/api/users/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("a@example.com");
+    }
+
+    @Test
+    void updateAndDeleteUser_ShouldApplyChanges() {
+        long id = create("Old Name", "old@example.com");
+
+        webTestClient.put().uri("/api/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"New Name\",\"age\":41}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("New Name")
+                .jsonPath("$.age").isEqualTo(41)
+                .jsonPath("$.email").isEqualTo("old@example.com");
+
+        webTestClient.delete().uri("/api/users/{id}", id)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/users/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private long create(String name, String email) {
+        AtomicLong id = new AtomicLong();
+        webTestClient.post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request(name, email, 30))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").value(value -> id.set(((Number) value).longValue()));
+        return id.get();
+    }
+
+    private static UserRequest request(String name, String email, Integer age) {
+        UserRequest request = new UserRequest();
+        request.setName(name);
+        request.setEmail(email);
+        request.setAge(age);
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.benchmark;
+
+import com.example.UserManagementApplication;
+import com.example.dto.UserRequest;
+import com.example.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application against in-memory H2 (test profile) with the user cache and the outbox relay
+ * switched off, so every service call reaches the database and nothing talks to Kafka.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "app.user-cache.enabled=false",
+                "app.outbox.enabled=false",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(UserManagementApplication.class)
+                .profiles("test")
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Inserts {@code count} users with emails {@code seed<i>@example.com} and returns their ids in order.
+     */
+    public static long[] seed(UserService userService, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += UserService.MAX_BATCH_SIZE) {
+            List<UserRequest> batch = new ArrayList<>(UserService.MAX_BATCH_SIZE);
+            for (int i = from; i < Math.min(from + UserService.MAX_BATCH_SIZE, count); i++) {
+                batch.add(request("seed" + i + "@example.com"));
+            }
+            userService.createUsers(batch).getResults().forEach(result -> ids.add(result.getUser().getId()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static UserRequest request(String email) {
+        UserRequest request = new UserRequest();
+        request.setName("Benchmark User");
+        request.setEmail(email);
+        request.setAge(30);
+        return request;
+    }
+}
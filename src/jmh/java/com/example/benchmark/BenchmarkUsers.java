@@ -0,0 +1,43 @@
+package com.example.benchmark;
+
+import com.example.dto.UserResponse;
+import com.example.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+public final class BenchmarkUsers {
+
+    public static final int PAGE_SIZE = 20;
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 23, 10, 30);
+
+    private BenchmarkUsers() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Benchmark User " + id)
+                .email("user" + id + "@example.com")
+                .age(30)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    public static UserResponse response(long id) {
+        return UserResponse.builder()
+                .id(id)
+                .name("Benchmark User " + id)
+                .email("user" + id + "@example.com")
+                .age(30)
+                .createdAt(CREATED_AT)
+                .version(0L)
+                .build();
+    }
+
+    public static List<UserResponse> page() {
+        return LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(BenchmarkUsers::response).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.benchmark;
+
+import com.example.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HAL serialization of a single {@link UserResponse} and of a page wrapped in {@link CollectionModel},
+ * using the same Jackson modules the HAL message converter registers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final String BASE = "http://localhost:8081/api/users";
+
+    private ObjectMapper halMapper;
+    private UserResponse user;
+    private CollectionModel<UserResponse> page;
+
+    @Setup
+    public void setUp() {
+        halMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        user = withLinks(BenchmarkUsers.response(42));
+
+        List<UserResponse> users = BenchmarkUsers.page().stream().map(ResponseSerializationBenchmark::withLinks).toList();
+        page = CollectionModel.of(users,
+                Link.of(BASE + "?limit=20").withSelfRel(),
+                Link.of(BASE + "?after=dTo0Mg&limit=20").withRel(IanaLinkRelations.NEXT),
+                Link.of(BASE, "create"));
+    }
+
+    @Benchmark
+    public byte[] singleUser() throws Exception {
+        return halMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return halMapper.writeValueAsBytes(page);
+    }
+
+    private static UserResponse withLinks(UserResponse response) {
+        String self = BASE + "/" + response.getId();
+        response.add(Link.of(self).withSelfRel());
+        response.add(Link.of(self, "update"));
+        response.add(Link.of(self, "delete"));
+        response.add(Link.of(BASE + "/email/" + response.getEmail(), "by-email"));
+        return response;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.benchmark;
+
+import com.example.kafka.BinaryUserEventSerializer;
+import com.example.kafka.JsonUserEventSerializer;
+import com.example.kafka.UserEvent;
+import com.example.kafka.UserEventSerializer;
+import com.example.kafka.UserEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding cost of the event formats {@code UserEventProducer} can publish.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserEventSerializationJmhBenchmark {
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private UserEventSerializer serializer;
+    private UserEvent event;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        serializer = "binary".equals(format)
+                ? new BinaryUserEventSerializer()
+                : new JsonUserEventSerializer(new ObjectMapper());
+        event = new UserEvent(UserEventType.USER_CREATED, "user42@example.com", 42L,
+                "Benchmark User 42", 1_700_000_000_000L);
+        payload = serializer.serialize(event);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public UserEvent deserialize() {
+        return serializer.deserialize(payload);
+    }
+}
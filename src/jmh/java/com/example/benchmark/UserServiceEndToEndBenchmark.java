@@ -0,0 +1,74 @@
+package com.example.benchmark;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserResponse;
+import com.example.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link UserService} calls through the full Spring stack, see {@link BenchmarkApplication}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceEndToEndBenchmark {
+
+    private static final int SEEDED_USERS = 5_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        ids = BenchmarkApplication.seed(userService, SEEDED_USERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse getUserById() {
+        return userService.getUserById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public UserResponse getUserByEmail() {
+        return userService.getUserByEmail("seed" + ThreadLocalRandom.current().nextInt(SEEDED_USERS) + "@example.com");
+    }
+
+    @Benchmark
+    public UserPage getUsersPage() {
+        return userService.getUsers(null, UserService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public UserResponse createUser() {
+        return userService.createUser(BenchmarkApplication.request("bench" + sequence.incrementAndGet() + "@example.com"));
+    }
+}
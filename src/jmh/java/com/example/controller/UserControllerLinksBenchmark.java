@@ -0,0 +1,112 @@
+package com.example.controller;
+
+import com.example.benchmark.BenchmarkUsers;
+import com.example.dto.UserPage;
+import com.example.dto.UserResponse;
+import com.example.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * HATEOAS link building in {@link UserController} with the service stubbed out, so only link assembly is
+ * measured. The {@code legacy*} benchmarks keep the previous per-link {@code linkTo(methodOn(...))} code
+ * as a baseline for {@link UserLinks}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserControllerLinksBenchmark {
+
+    private UserController controller;
+    private ServletWebRequest webRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setServerName("localhost");
+        request.setServerPort(8081);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        UserService userService = mock(UserService.class);
+        when(userService.getUserById(anyLong())).thenAnswer(call -> BenchmarkUsers.response(call.getArgument(0)));
+        when(userService.getUsers(any(), any())).thenReturn(new UserPage(BenchmarkUsers.page(), "dTo0Mg"));
+
+        controller = new UserController(userService, new UserLinks(), new ObjectMapper());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public UserResponse singleUser() {
+        return controller.getUserById(42L, webRequest);
+    }
+
+    @Benchmark
+    public CollectionModel<UserResponse> page() {
+        return controller.getAllUsers(null, BenchmarkUsers.PAGE_SIZE, webRequest);
+    }
+
+    @Benchmark
+    public UserResponse legacySingleUser() {
+        return withLegacyLinks(BenchmarkUsers.response(42));
+    }
+
+    @Benchmark
+    public CollectionModel<UserResponse> legacyPage() {
+        Integer limit = BenchmarkUsers.PAGE_SIZE;
+        List<UserResponse> users = BenchmarkUsers.page().stream()
+                .map(UserControllerLinksBenchmark::withLegacyLinks)
+                .toList();
+
+        List<Link> links = new ArrayList<>();
+        links.add(linkTo(methodOn(UserController.class).getAllUsers(null, limit, null)).withSelfRel());
+        links.add(linkTo(methodOn(UserController.class).getAllUsers("dTo0Mg", limit, null)).withRel(IanaLinkRelations.NEXT));
+        links.add(linkTo(methodOn(UserController.class).createUser(null)).withRel("create"));
+        return CollectionModel.of(users, links);
+    }
+
+    private static UserResponse withLegacyLinks(UserResponse user) {
+        user.add(linkTo(methodOn(UserController.class).getUserById(user.getId(), null)).withSelfRel());
+        user.add(Link.of(linkTo(UserController.class).slash(user.getId()).toUri().toString(), "update"));
+        user.add(Link.of(linkTo(UserController.class).slash(user.getId()).toUri().toString(), "delete"));
+        user.add(linkTo(methodOn(UserController.class).getUserByEmail(user.getEmail(), null)).withRel("by-email"));
+        return user;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.service;
+
+import com.example.benchmark.BenchmarkApplication;
+import com.example.dto.UserResponse;
+import com.example.entity.User;
+import com.example.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity hydration versus {@link com.example.repository.UserView} projection for the lookup and page
+ * reads. Run with {@code -Djmh.args="-prof gc"} to get {@code gc.alloc.rate.norm} (bytes per call).
+ * Both variants of a read run the same repository-level query in the same read-only transaction and bypass
+ * the {@link UserService} cache and read routing, so the difference is hydration alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    private static final int SEEDED_USERS = 5_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        ids = BenchmarkApplication.seed(context.getBean(UserService.class), SEEDED_USERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse entityById() {
+        long id = randomId();
+        return readOnly.execute(status -> userRepository.findById(id).map(UserService::mapToResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public UserResponse projectionById() {
+        long id = randomId();
+        return readOnly.execute(status -> userRepository.findViewById(id).map(UserService::mapToResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public List<UserResponse> entityPage() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("select u from User u where u.id > :id order by u.id", User.class)
+                .setParameter("id", 0L)
+                .setMaxResults(UserService.DEFAULT_PAGE_SIZE + 1)
+                .getResultList().stream()
+                .limit(UserService.DEFAULT_PAGE_SIZE)
+                .map(UserService::mapToResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponse> projectionPage() {
+        return readOnly.execute(status -> userRepository
+                .findViewsByIdGreaterThan(0L, Limit.of(UserService.DEFAULT_PAGE_SIZE + 1)).stream()
+                .limit(UserService.DEFAULT_PAGE_SIZE)
+                .map(UserService::mapToResponse)
+                .toList());
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -2,8 +2,10 @@ package com.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class UserManagementApplication {
 
     public static void main(String[] args) {
@@ -19,6 +21,7 @@ public class UserManagementApplication {
         System.out.println("🚀 REST Endpoints:");
         System.out.println("  • Users API:       http://localhost:8081/api/users");
         System.out.println("  • Health Check:    http://localhost:8081/actuator/health");
+        System.out.println("  • Prometheus:      http://localhost:8081/actuator/prometheus");
         System.out.println("=".repeat(50));
     }
 }
\ No newline at end of file
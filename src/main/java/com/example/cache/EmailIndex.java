@@ -0,0 +1,202 @@
+package com.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory email membership index used to turn away repeat sign-ups without a write transaction.
+ * Emails committed through this instance are remembered for {@code recent-ttl}; every email
+ * ever seen also goes into a Bloom filter warmed from the table at startup. Either hit is only a
+ * hint and has to be confirmed against the database; filter probes also feed the false positive metrics.
+ * The unique constraint stays the final arbiter: inserts made by other instances are invisible here.
+ */
+@Slf4j
+@Component
+public class EmailIndex {
+
+    public enum Membership {
+        /** Not in the filter: the email was never seen, go straight to insert. */
+        ABSENT,
+        /** Filter hit: the email may exist and needs a database check. */
+        MAYBE,
+        /**
+         * Committed through this instance recently and not removed here since. Still confirmed against the
+         * database: a delete or rename through another instance only reaches this one with its event.
+         */
+        RECENT
+    }
+
+    private final boolean enabled;
+    private final EmailBloomFilter filter;
+    private final Cache<String, Boolean> recent;
+    private volatile boolean warmedUp;
+
+    private final Counter absent;
+    private final Counter maybe;
+    private final Counter recentHits;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+    private final AtomicLong absentCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    public EmailIndex(EmailIndexProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.filter = new EmailBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentMaximumSize())
+                .expireAfterWrite(properties.getRecentTtl())
+                .build();
+
+        this.absent = lookups(meterRegistry, "absent");
+        this.maybe = lookups(meterRegistry, "maybe");
+        this.recentHits = lookups(meterRegistry, "recent");
+        this.confirmed = probes(meterRegistry, "duplicate");
+        this.falsePositives = probes(meterRegistry, "false-positive");
+
+        Gauge.builder("users.email-index.false-positive.rate", this, EmailIndex::observedFalsePositiveRate)
+                .description("Share of lookups for emails not in the table that still hit the filter")
+                .register(meterRegistry);
+        Gauge.builder("users.email-index.false-positive.expected", filter, EmailBloomFilter::expectedFalsePositiveRate)
+                .description("False positive probability implied by the current filter fill")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Classifies an already normalized email. Until {@link #warmUp} has finished every email that is
+     * not recent is reported {@link Membership#ABSENT}, so sign-ups fall back to the constraint.
+     */
+    public Membership lookup(String email) {
+        if (!enabled) {
+            return Membership.ABSENT;
+        }
+        if (recent.getIfPresent(email) != null) {
+            recentHits.increment();
+            return Membership.RECENT;
+        }
+        if (!warmedUp) {
+            return Membership.ABSENT;
+        }
+        if (!filter.mightContain(email)) {
+            absent.increment();
+            absentCount.incrementAndGet();
+            return Membership.ABSENT;
+        }
+        maybe.increment();
+        return Membership.MAYBE;
+    }
+
+    /**
+     * Records the database answer for a {@link Membership#MAYBE} lookup.
+     */
+    public void recordProbe(boolean exists) {
+        if (exists) {
+            confirmed.increment();
+        } else {
+            falsePositives.increment();
+            falsePositiveCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds the email once the surrounding transaction commits, so rolled back inserts are never remembered.
+     */
+    public void added(String email) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            filter.put(email);
+            recent.put(email, Boolean.TRUE);
+        });
+    }
+
+    /**
+     * Forgets a deleted or renamed email. The filter keeps its bits, later lookups cost one probe.
+     */
+    public void removed(String email) {
+        if (!enabled) {
+            return;
+        }
+        recent.invalidate(email);
+        afterCommit(() -> recent.invalidate(email));
+    }
+
+    /**
+     * Applies a change committed elsewhere, e.g. by another instance.
+     */
+    public void remember(String email) {
+        if (enabled) {
+            filter.put(email);
+        }
+    }
+
+    public void forget(String email) {
+        if (enabled) {
+            recent.invalidate(email);
+        }
+    }
+
+    public long warmUp(Iterator<String> emails) {
+        if (!enabled) {
+            return 0;
+        }
+        long count = 0;
+        while (emails.hasNext()) {
+            filter.put(emails.next());
+            count++;
+        }
+        warmedUp = true;
+        log.info("Email index warmed up with {} emails, expected false positive rate {}",
+                count, String.format("%.4f", filter.expectedFalsePositiveRate()));
+        return count;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    double observedFalsePositiveRate() {
+        long falsePositive = falsePositiveCount.get();
+        long negatives = falsePositive + absentCount.get();
+        return negatives == 0 ? 0.0 : (double) falsePositive / negatives;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("users.email-index.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter probes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.email-index.probes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.email-index")
+public class EmailIndexProperties {
+
+    private boolean enabled = true;
+
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveProbability = 0.01;
+
+    private long recentMaximumSize = 100_000;
+
+    private Duration recentTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,174 @@
+package com.example.cache;
+
+import com.example.dto.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for single-user lookups.
+ * Entries are stored once by id; the email key only points at the id and is checked
+ * against the cached entry on read, so the two keys can never return different users.
+ * Loads are tagged with {@link #loadToken()} and dropped if an invalidation happened
+ * while the row was being read, which keeps a slow reader from re-caching stale data.
+ * Concurrent misses for the same key share one load through {@link SingleFlight}; a load only
+ * takes waiters that arrived before the next invalidation, so nobody joins a read of an old row.
+ */
+@Component
+public class UserCache {
+
+    public static final String LOADS_METRIC = "users.cache.loads";
+
+    private final boolean enabled;
+    private final boolean coalesceLoads;
+    private final Cache<Long, UserResponse> usersById;
+    private final Cache<String, Long> idsByEmail;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final SingleFlight<Load, UserResponse> loadsById;
+    private final SingleFlight<Load, UserResponse> loadsByEmail;
+
+    public UserCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.coalesceLoads = properties.isCoalesceLoads();
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.by-email");
+
+        this.loadsById = new SingleFlight<>(UserCache::copyOf,
+                loads(meterRegistry, "id", "executed"), loads(meterRegistry, "id", "collapsed"));
+        this.loadsByEmail = new SingleFlight<>(UserCache::copyOf,
+                loads(meterRegistry, "email", "executed"), loads(meterRegistry, "email", "collapsed"));
+    }
+
+    public Optional<UserResponse> getById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(usersById.getIfPresent(id)).map(UserCache::copyOf);
+    }
+
+    public Optional<UserResponse> getByEmail(String email) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Long id = idsByEmail.getIfPresent(email);
+        if (id == null) {
+            return Optional.empty();
+        }
+        UserResponse cached = usersById.getIfPresent(id);
+        if (cached == null || !email.equals(cached.getEmail())) {
+            idsByEmail.asMap().remove(email, id);
+            return Optional.empty();
+        }
+        return Optional.of(copyOf(cached));
+    }
+
+    /** Runs {@code loader} for a missed id, shared with concurrent misses for it, and caches the result. */
+    public UserResponse loadById(Long id, Supplier<UserResponse> loader) {
+        return load(loadsById, id, loader);
+    }
+
+    /** Like {@link #loadById} for a normalized email. */
+    public UserResponse loadByEmail(String email, Supplier<UserResponse> loader) {
+        return load(loadsByEmail, email, loader);
+    }
+
+    public long loadToken() {
+        return invalidations.get();
+    }
+
+    public void put(long loadToken, UserResponse user) {
+        if (!enabled || loadToken != invalidations.get()) {
+            return;
+        }
+        usersById.put(user.getId(), copyOf(user));
+        idsByEmail.put(user.getEmail(), user.getId());
+    }
+
+    /**
+     * Evicts the user now and, when called inside a transaction, once more after it completes
+     * so that readers which loaded the old row before the commit cannot keep it cached.
+     */
+    public void invalidate(Long id, String... emails) {
+        evict(id, emails);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id, emails);
+                }
+            });
+        }
+    }
+
+    public void evict(Long id, String... emails) {
+        invalidations.incrementAndGet();
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+        for (String email : emails) {
+            if (email != null) {
+                idsByEmail.invalidate(email);
+            }
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        usersById.invalidateAll();
+        idsByEmail.invalidateAll();
+    }
+
+    private UserResponse load(SingleFlight<Load, UserResponse> loads, Object key, Supplier<UserResponse> loader) {
+        long loadToken = loadToken();
+        Supplier<UserResponse> loadAndPut = () -> {
+            UserResponse user = loader.get();
+            put(loadToken, user);
+            return user;
+        };
+        return coalesceLoads ? loads.execute(new Load(key, loadToken), loadAndPut) : loadAndPut.get();
+    }
+
+    private static Counter loads(MeterRegistry meterRegistry, String key, String outcome) {
+        return Counter.builder(LOADS_METRIC)
+                .description("User lookups that missed the cache: executed against the database, "
+                        + "or collapsed into a load already in flight for the same key")
+                .tag("key", key)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static UserResponse copyOf(UserResponse user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .age(user.getAge())
+                .createdAt(user.getCreatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    private record Load(Object key, long token) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.user-cache")
+public class UserCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private boolean kafkaInvalidation = false;
+
+    /** Concurrent misses for the same id or email share one database read. */
+    private boolean coalesceLoads = true;
+}
@@ -0,0 +1,172 @@
+package com.example.config;
+
+import com.example.datasource.AdmissionProperties;
+import com.example.datasource.ConnectionPermitDataSource;
+import com.example.datasource.ConnectionPermitProperties;
+import com.example.datasource.PoolAdmissionFilter;
+import com.example.datasource.ReplicaPools;
+import com.example.datasource.ReplicaProperties;
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.metrics.MetricsProperties;
+import com.example.metrics.SqlMeteringDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class DataSourceKonfig {
+
+    /**
+     * Wraps the pool in {@link ConnectionPermitDataSource}, routes read-only transactions to the replicas
+     * and then wraps everything in {@link SqlMeteringDataSource}, each when enabled; all are applied here
+     * so that their order does not depend on post-processor ordering.
+     */
+    @Bean
+    public static BeanPostProcessor pooledDataSourcePostProcessor(
+            ObjectProvider<ConnectionPermitProperties> permitProperties,
+            ObjectProvider<ReplicaPools> replicaPools,
+            ObjectProvider<MetricsProperties> metricsProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                DataSource dataSource = hikari;
+                ConnectionPermitProperties permits = permitProperties.getIfAvailable(ConnectionPermitProperties::new);
+                if (permits.isEnabled()) {
+                    dataSource = new ConnectionPermitDataSource(dataSource, hikari.getMaximumPoolSize(),
+                            permits.getMaxWaiting(), permits.getAcquireTimeout());
+                }
+                ReplicaPools replicas = replicaPools.getIfAvailable();
+                if (replicas != null) {
+                    LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(dataSource);
+                    lazy.setReadOnlyDataSource(new ReplicaRoutingDataSource(dataSource, replicas));
+                    dataSource = lazy;
+                }
+                if (metricsProperties.getIfAvailable(MetricsProperties::new).isSqlStatementsPerRequest()) {
+                    dataSource = new SqlMeteringDataSource(dataSource);
+                }
+                return dataSource;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+    public static ReplicaPools replicaPools(ReplicaProperties properties) {
+        return new ReplicaPools(properties);
+    }
+
+    /**
+     * Replica pools are not beans, so Spring Boot does not bind {@code hikaricp.connections.*} for them;
+     * they get the same meters here, tagged with their pool name.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ObjectProvider<ReplicaPools> replicaPools) {
+        return registry -> replicaPools.ifAvailable(replicas -> {
+            for (DataSource replica : replicas.dataSources()) {
+                if (replica instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+                    hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+            Gauge.builder("db.replicas.available", replicas, ReplicaPools::availableCount)
+                    .description("Replicas within the configured lag that receive read-only transactions")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionPermitDataSource permits = unwrap(dataSource, ConnectionPermitDataSource.class);
+            if (permits == null) {
+                return;
+            }
+            Gauge.builder("db.connection.permits.waiting", permits, ConnectionPermitDataSource::waitingThreads)
+                    .description("Threads queued for a database connection permit")
+                    .register(registry);
+            Gauge.builder("db.connection.permits.available", permits, ConnectionPermitDataSource::availablePermits)
+                    .register(registry);
+            FunctionCounter.builder("db.connection.permits.rejected", permits, ConnectionPermitDataSource::rejectedCount)
+                    .description("Connection requests rejected because too many threads were waiting or the wait timed out")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Share of the pool that is busy or being waited for; above 1 requests are queueing for connections.
+     * Complements the {@code hikaricp.connections.*} meters Spring Boot registers for the pool itself.
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+            if (hikari == null) {
+                return;
+            }
+            Gauge.builder("db.pool.saturation", hikari, DataSourceKonfig::saturation)
+                    .description("(active + pending) / maximum pool size")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Runs before the SQL metrics filter so that shed requests never touch the pool; counts both threads
+     * waiting inside Hikari and those queued for a {@link ConnectionPermitDataSource} permit.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.admission", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<PoolAdmissionFilter> poolAdmissionFilter(DataSource dataSource,
+                                                                           AdmissionProperties properties,
+                                                                           ObjectMapper objectMapper,
+                                                                           MeterRegistry meterRegistry) {
+        HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+        ConnectionPermitDataSource permits = unwrap(dataSource, ConnectionPermitDataSource.class);
+        FilterRegistrationBean<PoolAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new PoolAdmissionFilter(() -> pendingConnections(hikari, permits), properties,
+                        objectMapper, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    private static int pendingConnections(HikariDataSource hikari, ConnectionPermitDataSource permits) {
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        return (pool != null ? pool.getThreadsAwaitingConnection() : 0)
+                + (permits != null ? permits.waitingThreads() : 0);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return Double.NaN;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                / hikari.getMaximumPoolSize();
+    }
+}
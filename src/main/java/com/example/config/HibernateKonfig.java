@@ -0,0 +1,17 @@
+package com.example.config;
+
+import com.example.entity.UserIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateKonfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer userIdAllocationSizeCustomizer(
+            @Value("${app.users.id-allocation-size:50}") int allocationSize) {
+        return properties -> properties.put(UserIdGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.config;
+
+import com.example.kafka.ProducerTuningProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+public class KafkaProducerKonfig {
+
+    @Bean
+    public ProducerFactory<String, byte[]> userEventProducerFactory(KafkaProperties kafkaProperties,
+                                                                   ObjectProvider<SslBundles> sslBundles,
+                                                                   ProducerTuningProperties tuning) {
+        Map<String, Object> properties = producerProperties(
+                kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()), tuning);
+
+        log.info("Kafka producer profile: {}", tuning.getProfile());
+        return new DefaultKafkaProducerFactory<>(properties);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> userEventProducerFactory) {
+        return new KafkaTemplate<>(userEventProducerFactory);
+    }
+
+    public static Map<String, Object> producerProperties(Map<String, Object> base, ProducerTuningProperties tuning) {
+        Map<String, Object> properties = new HashMap<>(base);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        if (tuning.getProfile() == ProducerTuningProperties.Profile.THROUGHPUT) {
+            ProducerTuningProperties.Throughput throughput = tuning.getThroughput();
+
+            properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            properties.put(ProducerConfig.ACKS_CONFIG, "all");
+            properties.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+            properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, throughput.getCompressionType());
+            properties.put(ProducerConfig.LINGER_MS_CONFIG, (int) throughput.getLinger().toMillis());
+            properties.put(ProducerConfig.BATCH_SIZE_CONFIG, (int) throughput.getBatchSize().toBytes());
+            properties.put(ProducerConfig.BUFFER_MEMORY_CONFIG, throughput.getBufferMemory().toBytes());
+            properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+                    throughput.getMaxInFlightRequestsPerConnection());
+        }
+        return properties;
+    }
+}
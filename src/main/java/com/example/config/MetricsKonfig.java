@@ -0,0 +1,55 @@
+package com.example.config;
+
+import com.example.metrics.MetricsProperties;
+import com.example.metrics.SqlStatementCounter;
+import com.example.metrics.SqlStatementMetricsFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsKonfig {
+
+    /**
+     * Backs {@code @Timed} on service classes; percentiles and histograms for those timers are set
+     * through {@code management.metrics.distribution.*}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter highCardinalityTagFilter(MetricsProperties properties) {
+        if (properties.isHighCardinalityTags()) {
+            return new MeterFilter() {
+            };
+        }
+        return MeterFilter.ignoreTags(properties.getHighCardinalityTagKeys().toArray(String[]::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics", name = "sql-statements-per-request", matchIfMissing = true)
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics", name = "sql-statements-per-request", matchIfMissing = true)
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                                                                     MetricsProperties properties) {
+        FilterRegistrationBean<SqlStatementMetricsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementMetricsFilter(meterRegistry, properties.isSqlResponseHeaders(),
+                        properties.isSqlBudgetEnforced()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
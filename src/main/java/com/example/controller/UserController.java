@@ -1,9 +1,18 @@
 package com.example.controller;
 
+import com.example.dto.UserBatchResponse;
+import com.example.dto.UserLookupItemResult;
+import com.example.dto.UserLookupRequest;
+import com.example.dto.UserLookupResponse;
+import com.example.dto.UserPage;
 import com.example.dto.UserRequest;
 import com.example.dto.UserResponse;
+import com.example.dto.UserSearchRequest;
 import com.example.dto.UserUpdateRequest;
+import com.example.metrics.SqlBudget;
 import com.example.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,18 +22,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -32,6 +47,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class UserController {
 
     private final UserService userService;
+    private final UserLinks userLinks;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Создать нового пользователя",
@@ -59,94 +76,299 @@ public class UserController {
             @Valid @RequestBody UserRequest request) {
 
         UserResponse response = userService.createUser(request);
+        UserLinks.Templates links = userLinks.forCurrentRequest();
 
-        response.add(linkTo(methodOn(UserController.class).getUserById(response.getId())).withSelfRel());
-        response.add(linkTo(methodOn(UserController.class).getAllUsers()).withRel(IanaLinkRelations.COLLECTION));
-        response.add(Link.of(linkTo(UserController.class).slash(response.getId()).toUri().toString(), "update"));
-        response.add(Link.of(linkTo(UserController.class).slash(response.getId()).toUri().toString(), "delete"));
-        response.add(linkTo(methodOn(UserController.class).getUserByEmail(response.getEmail())).withRel("by-email"));
+        response.add(links.item(response.getId(), IanaLinkRelations.SELF));
+        response.add(links.collection());
+        response.add(links.item(response.getId(), UserLinks.UPDATE));
+        response.add(links.item(response.getId(), UserLinks.DELETE));
+        response.add(links.byEmail(response.getEmail(), UserLinks.BY_EMAIL));
 
         return response;
     }
 
-    @Operation(summary = "Получить пользователя по ID")
+    @Operation(
+            summary = "Создать пользователей пакетом",
+            description = "Создает до " + UserService.MAX_BATCH_SIZE + " пользователей за один запрос. " +
+                    "Ошибки валидации и дубликаты email возвращаются по каждому элементу, не прерывая пакет"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Пакет обработан, статус каждого элемента указан в results",
+                    content = @Content(schema = @Schema(implementation = UserBatchResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Пустой или слишком большой пакет"
+            )
+    })
+    @PostMapping("/batch")
+    public UserBatchResponse createUsers(
+            @Parameter(description = "Список новых пользователей", required = true)
+            @RequestBody List<UserRequest> requests) {
+
+        return userService.createUsers(requests);
+    }
+
+    @Operation(
+            summary = "Найти пользователей пакетом по ID и email",
+            description = "Возвращает до " + UserService.MAX_LOOKUP_SIZE + " пользователей за один запрос " +
+                    "вместо отдельного запроса на каждого. Результаты идут в порядке запроса, " +
+                    "ненайденные отмечены статусом 404. Ссылки HATEOAS добавляются только при links=true"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Поиск выполнен, статус каждого элемента указан в results",
+                    content = @Content(schema = @Schema(implementation = UserLookupResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Пустой или слишком большой запрос"
+            )
+    })
+    @PostMapping("/lookup")
+    @SqlBudget(statements = 4)
+    public UserLookupResponse lookupUsers(
+            @Parameter(description = "ID и/или email пользователей", required = true)
+            @Valid @RequestBody UserLookupRequest request,
+
+            @Parameter(description = "Добавить ссылки на каждого найденного пользователя")
+            @RequestParam(defaultValue = "false") boolean links) {
+
+        UserLookupResponse response = userService.lookupUsers(request);
+        if (links) {
+            UserLinks.Templates templates = userLinks.forCurrentRequest();
+            response.getResults().stream()
+                    .map(UserLookupItemResult::getUser)
+                    .filter(user -> user != null && !user.hasLinks())
+                    .forEach(user -> {
+                        user.add(templates.item(user.getId(), IanaLinkRelations.SELF));
+                        user.add(templates.byEmail(user.getEmail(), UserLinks.BY_EMAIL));
+                    });
+        }
+        return response;
+    }
+
+    @Operation(
+            summary = "Получить пользователя по ID",
+            description = "Ответ содержит ETag; с совпадающим If-None-Match возвращается 304 без тела"
+    )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Пользователь найден",
                     content = @Content(schema = @Schema(implementation = UserResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Пользователь не изменился"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Пользователь не найден"
             )
     })
     @GetMapping("/{id}")
+    @SqlBudget(statements = 1)
     public UserResponse getUserById(
             @Parameter(description = "ID пользователя", example = "1", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
 
-        UserResponse response =userService.getUserById(id);
+        UserResponse response = userService.getUserById(id);
+        if (webRequest.checkNotModified(UserETags.of(response.getId(), response.getVersion()))) {
+            return null;
+        }
+        UserLinks.Templates links = userLinks.forCurrentRequest();
 
-        response.add(linkTo(methodOn(UserController.class).getUserById(id)).withSelfRel());
-        response.add(linkTo(methodOn(UserController.class).getAllUsers()).withRel(IanaLinkRelations.COLLECTION));
-        response.add(Link.of(linkTo(UserController.class).slash(id).toUri().toString(), "update"));
-        response.add(Link.of(linkTo(UserController.class).slash(id).toUri().toString(), "delete"));
-        response.add(linkTo(methodOn(UserController.class).getUserByEmail(response.getEmail())).withRel("by-email"));
+        response.add(links.item(id, IanaLinkRelations.SELF));
+        response.add(links.collection());
+        response.add(links.item(id, UserLinks.UPDATE));
+        response.add(links.item(id, UserLinks.DELETE));
+        response.add(links.byEmail(response.getEmail(), UserLinks.BY_EMAIL));
 
         return response;
     }
 
-    @Operation(summary = "Получить всех пользователей")
-    @ApiResponse(
-            responseCode = "200",
-            description = "Список всех пользователей"
+    @Operation(
+            summary = "Получить список пользователей",
+            description = "Постраничная выдача по курсору: ссылка next содержит курсор следующей страницы. " +
+                    "ETag страницы зависит от ID и версий пользователей на ней"
     )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Страница пользователей"
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Страница не изменилась"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Неверный курсор или размер страницы"
+            )
+    })
     @GetMapping
-    public CollectionModel<UserResponse> getAllUsers() {
+    @SqlBudget(statements = 1)
+    public CollectionModel<UserResponse> getAllUsers(
+            @Parameter(description = "Курсор, полученный из ссылки next предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы (не более " + UserService.MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
 
-        List<UserResponse> users = userService.getAllUsers();
+        UserPage page = userService.getUsers(after, limit);
+        if (webRequest.checkNotModified(UserETags.ofPage(page))) {
+            return null;
+        }
+        UserLinks.Templates links = userLinks.forCurrentRequest();
 
-        List<UserResponse> usersWithLinks = users.stream()
+        List<UserResponse> usersWithLinks = page.getUsers().stream()
                 .map(user -> {
-                    user.add(linkTo(methodOn(UserController.class).getUserById(user.getId())).withSelfRel());
-                    user.add(Link.of(linkTo(UserController.class).slash(user.getId()).toUri().toString(), "update"));
-                    user.add(Link.of(linkTo(UserController.class).slash(user.getId()).toUri().toString(), "delete"));
-                    user.add(linkTo(methodOn(UserController.class).getUserByEmail(user.getEmail())).withRel("by-email"));
+                    user.add(links.item(user.getId(), IanaLinkRelations.SELF));
+                    user.add(links.item(user.getId(), UserLinks.UPDATE));
+                    user.add(links.item(user.getId(), UserLinks.DELETE));
+                    user.add(links.byEmail(user.getEmail(), UserLinks.BY_EMAIL));
 
                     return user;
                 })
                 .collect(Collectors.toList());
 
-        return CollectionModel.of(usersWithLinks,
-                linkTo(methodOn(UserController.class).getAllUsers()).withSelfRel(),
-                linkTo(methodOn(UserController.class).createUser(null)).withRel("create"));
+        List<Link> pageLinks = new ArrayList<>();
+        pageLinks.add(links.page(after, limit, IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            pageLinks.add(links.page(page.getNextCursor(), limit, IanaLinkRelations.NEXT));
+        }
+        pageLinks.add(links.create());
+
+        return CollectionModel.of(usersWithLinks, pageLinks);
     }
 
-    @Operation(summary = "Получить пользователя по email")
+    @Operation(
+            summary = "Найти пользователей",
+            description = "Фильтры по началу имени, домену email, диапазонам возраста и даты создания комбинируются " +
+                    "через AND. Нужен хотя бы один избирательный фильтр: начало имени или домен email " +
+                    "от " + UserService.MIN_SEARCH_TERM_LENGTH + " символов, окно даты создания не шире " +
+                    UserService.MAX_SEARCH_CREATED_DAYS + " дней или диапазон возраста не шире " +
+                    UserService.MAX_SEARCH_AGE_SPAN + " лет"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Страница найденных пользователей"
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Страница не изменилась"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Неверные или слишком широкие фильтры, неверный курсор"
+            )
+    })
+    @GetMapping("/search")
+    @SqlBudget(statements = 1)
+    public CollectionModel<UserResponse> searchUsers(
+            @ParameterObject @Valid UserSearchRequest search,
+
+            @Parameter(description = "Курсор, полученный из ссылки next предыдущей страницы")
+            @RequestParam(required = false) String after,
+
+            @Parameter(description = "Размер страницы (не более " + UserService.MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+
+        UserPage page = userService.searchUsers(search, after, limit);
+        if (webRequest.checkNotModified(UserETags.ofPage(page))) {
+            return null;
+        }
+        UserLinks.Templates links = userLinks.forCurrentRequest();
+
+        List<UserResponse> usersWithLinks = page.getUsers().stream()
+                .map(user -> {
+                    user.add(links.item(user.getId(), IanaLinkRelations.SELF));
+                    user.add(links.byEmail(user.getEmail(), UserLinks.BY_EMAIL));
+
+                    return user;
+                })
+                .collect(Collectors.toList());
+
+        List<Link> pageLinks = new ArrayList<>();
+        pageLinks.add(links.searchPage(search, after, limit, IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            pageLinks.add(links.searchPage(search, page.getNextCursor(), limit, IanaLinkRelations.NEXT));
+        }
+        pageLinks.add(links.collection());
+
+        return CollectionModel.of(usersWithLinks, pageLinks);
+    }
+
+    @Operation(
+            summary = "Выгрузить всех пользователей",
+            description = "Потоковая выгрузка таблицы пользователей в формате NDJSON, по одному объекту на строку"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Поток пользователей",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                userService.exportUsers(user -> writeNdjsonLine(generator, user));
+                generator.flush();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Получить пользователя по email",
+            description = "Ответ содержит ETag; с совпадающим If-None-Match возвращается 304 без тела"
+    )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Пользователь найден",
                     content = @Content(schema = @Schema(implementation = UserResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Пользователь не изменился"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Пользователь не найден"
             )
     })
     @GetMapping("/email/{email}")
+    @SqlBudget(statements = 1)
     public UserResponse getUserByEmail(
             @Parameter(description = "Email пользователя", example = "user@example.com", required = true)
-            @PathVariable String email) {
+            @PathVariable String email,
+            WebRequest webRequest) {
 
         UserResponse response = userService.getUserByEmail(email);
+        if (webRequest.checkNotModified(UserETags.of(response.getId(), response.getVersion()))) {
+            return null;
+        }
+        UserLinks.Templates links = userLinks.forCurrentRequest();
 
-        response.add(linkTo(methodOn(UserController.class).getUserByEmail(email)).withSelfRel());
-        response.add(linkTo(methodOn(UserController.class).getUserById(response.getId())).withRel("by-id"));
-        response.add(linkTo(methodOn(UserController.class).getAllUsers()).withRel(IanaLinkRelations.COLLECTION));
-        response.add(Link.of(linkTo(UserController.class).slash(response.getId()).toUri().toString(), "update"));
-        response.add(Link.of(linkTo(UserController.class).slash(response.getId()).toUri().toString(), "delete"));
+        response.add(links.byEmail(email, IanaLinkRelations.SELF));
+        response.add(links.item(response.getId(), UserLinks.BY_ID));
+        response.add(links.collection());
+        response.add(links.item(response.getId(), UserLinks.UPDATE));
+        response.add(links.item(response.getId(), UserLinks.DELETE));
 
         return response;
     }
@@ -168,25 +390,36 @@ public class UserController {
             ),
             @ApiResponse(
                     responseCode = "409",
-                    description = "Email уже используется"
+                    description = "Email уже используется или пользователь изменен параллельно"
+            ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match не совпадает с текущей версией пользователя"
             )
     })
     @PutMapping("/{id}")
-    public UserResponse updateUser(
+    @SqlBudget(statements = 4)
+    public ResponseEntity<UserResponse> updateUser(
             @Parameter(description = "ID пользователя", example = "1", required = true)
             @PathVariable Long id,
 
+            @Parameter(description = "ETag версии, которую клиент изменяет", example = "\"1-3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+
             @Parameter(description = "Обновленные данные пользователя", required = true)
             @Valid @RequestBody UserUpdateRequest request) {
 
-        UserResponse response = userService.updateUser(id, request);
+        UserResponse response = userService.updateUser(id, request, UserETags.requiredVersion(ifMatch, id));
+        UserLinks.Templates links = userLinks.forCurrentRequest();
 
-        response.add(linkTo(methodOn(UserController.class).getUserById(id)).withSelfRel());
-        response.add(linkTo(methodOn(UserController.class).getAllUsers()).withRel(IanaLinkRelations.COLLECTION));
-        response.add(Link.of(linkTo(UserController.class).slash(id).toUri().toString(), "delete"));
-        response.add(linkTo(methodOn(UserController.class).getUserByEmail(response.getEmail())).withRel("by-email"));
+        response.add(links.item(id, IanaLinkRelations.SELF));
+        response.add(links.collection());
+        response.add(links.item(id, UserLinks.DELETE));
+        response.add(links.byEmail(response.getEmail(), UserLinks.BY_EMAIL));
 
-        return response;
+        return ResponseEntity.ok()
+                .eTag(UserETags.of(response.getId(), response.getVersion()))
+                .body(response);
     }
 
     @Operation(summary = "Удалить пользователя")
@@ -208,4 +441,21 @@ public class UserController {
 
         userService.deleteUser(id);
     }
+
+    private void writeNdjsonLine(JsonGenerator generator, UserResponse user) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("name", user.getName());
+            generator.writeStringField("email", user.getEmail());
+            if (user.getAge() != null) {
+                generator.writeNumberField("age", user.getAge());
+            }
+            generator.writeObjectField("createdAt", user.getCreatedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.controller;
+
+import com.example.dto.UserPage;
+import com.example.dto.UserResponse;
+import com.example.exception.UserVersionConflictException;
+
+/**
+ * Strong ETags for users, derived from the id and row version: {@code "<id>-<version>"}, so a tag taken
+ * from one user can never satisfy a precondition on another at the same version. A page gets a weak ETag
+ * digesting the ids and versions on it and whether there is a next page, so it can be checked before
+ * any links are built or anything is serialized.
+ */
+final class UserETags {
+
+    private UserETags() {
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String ofPage(UserPage page) {
+        long hash = page.getUsers().size();
+        for (UserResponse user : page.getUsers()) {
+            hash = mix(hash ^ user.getId());
+            hash = mix(hash ^ (user.getVersion() != null ? user.getVersion() : -1L));
+        }
+        hash = mix(hash ^ (page.hasNext() ? page.getNextCursor().hashCode() : 0));
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or {@code null} when any version will do.
+     * Weak tags, tags of another user and anything not of the {@link #of} form fail the precondition
+     * straight away.
+     */
+    static Long requiredVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw UserVersionConflictException.preconditionFailed(id);
+        }
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || tag.length() == prefix.length() + 1) {
+            throw UserVersionConflictException.preconditionFailed(id);
+        }
+        try {
+            return Long.parseLong(tag, prefix.length(), tag.length() - 1, 10);
+        } catch (NumberFormatException e) {
+            throw UserVersionConflictException.preconditionFailed(id);
+        }
+    }
+
+    /**
+     * MurmurHash3 finalizer: spreads every input bit so neighbouring ids and versions do not cancel out.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
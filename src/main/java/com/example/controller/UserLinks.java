@@ -0,0 +1,117 @@
+package com.example.controller;
+
+import com.example.dto.UserSearchRequest;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Builds the links {@link UserController} attaches to responses. The collection URI is resolved from the
+ * request once per call to {@link #forCurrentRequest()}; per-user links are plain string concatenation
+ * instead of a {@code methodOn} proxy invocation and URI template expansion for every link.
+ */
+@Component
+public class UserLinks {
+
+    public static final LinkRelation UPDATE = LinkRelation.of("update");
+    public static final LinkRelation DELETE = LinkRelation.of("delete");
+    public static final LinkRelation BY_EMAIL = LinkRelation.of("by-email");
+    public static final LinkRelation BY_ID = LinkRelation.of("by-id");
+    public static final LinkRelation CREATE = LinkRelation.of("create");
+
+    private static final int MAX_CACHED_ROOTS = 64;
+
+    private final Map<String, Templates> templatesByRoot = new ConcurrentHashMap<>();
+
+    public Templates forCurrentRequest() {
+        String root = linkTo(UserController.class).toUri().toString();
+
+        Templates templates = templatesByRoot.get(root);
+        if (templates != null) {
+            return templates;
+        }
+        if (templatesByRoot.size() >= MAX_CACHED_ROOTS) {
+            templatesByRoot.clear();
+        }
+        return templatesByRoot.computeIfAbsent(root, Templates::new);
+    }
+
+    public static final class Templates {
+
+        private final String collectionHref;
+        private final String itemPrefix;
+        private final String emailPrefix;
+        private final String searchHref;
+        private final Link collection;
+        private final Link create;
+
+        Templates(String root) {
+            this.collectionHref = root;
+            this.itemPrefix = root + "/";
+            this.emailPrefix = root + "/email/";
+            this.searchHref = root + "/search";
+            this.collection = Link.of(root, IanaLinkRelations.COLLECTION);
+            this.create = Link.of(root, CREATE);
+        }
+
+        public Link item(Long id, LinkRelation relation) {
+            return Link.of(itemPrefix + id, relation);
+        }
+
+        public Link byEmail(String email, LinkRelation relation) {
+            return Link.of(emailPrefix + UriUtils.encodePathSegment(email, StandardCharsets.UTF_8), relation);
+        }
+
+        public Link collection() {
+            return collection;
+        }
+
+        public Link create() {
+            return create;
+        }
+
+        public Link page(String after, Integer limit, LinkRelation relation) {
+            StringBuilder href = new StringBuilder(collectionHref);
+            char separator = '?';
+            if (after != null) {
+                href.append(separator).append("after=")
+                        .append(UriUtils.encodeQueryParam(after, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+            if (limit != null) {
+                href.append(separator).append("limit=").append(limit);
+            }
+            return Link.of(href.toString(), relation);
+        }
+
+        /** A search result page with every filter of {@code search} carried over from the bound request. */
+        public Link searchPage(UserSearchRequest search, String after, Integer limit, LinkRelation relation) {
+            String href = UriComponentsBuilder.fromUriString(searchHref)
+                    .queryParamIfPresent("name", Optional.ofNullable(search.getName()))
+                    .queryParamIfPresent("emailDomain", Optional.ofNullable(search.getEmailDomain()))
+                    .queryParamIfPresent("minAge", Optional.ofNullable(search.getMinAge()))
+                    .queryParamIfPresent("maxAge", Optional.ofNullable(search.getMaxAge()))
+                    .queryParamIfPresent("createdFrom", Optional.ofNullable(search.getCreatedFrom())
+                            .map(DateTimeFormatter.ISO_LOCAL_DATE_TIME::format))
+                    .queryParamIfPresent("createdTo", Optional.ofNullable(search.getCreatedTo())
+                            .map(DateTimeFormatter.ISO_LOCAL_DATE_TIME::format))
+                    .queryParamIfPresent("after", Optional.ofNullable(after))
+                    .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                    .encode()
+                    .build()
+                    .toUriString();
+            return Link.of(href, relation);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+
+    /** /api requests allowed in flight at once; the rest are answered 503 straight away. */
+    private int maxConcurrentRequests = 200;
+
+    /** New /api requests are shed while this many threads already wait for a pooled connection. */
+    private int maxPendingConnections = 20;
+
+    /** Sent as {@code Retry-After} with every 503 caused by load or an exhausted pool. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
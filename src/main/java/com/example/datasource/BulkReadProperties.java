@@ -0,0 +1,24 @@
+package com.example.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.bulk-read")
+public class BulkReadProperties {
+
+    /**
+     * Transaction timeout of the full-table reads; the request-path {@code spring.transaction.default-timeout}
+     * does not apply to them. Read by {@code @Transactional(timeoutString = ...)}, so whole seconds only.
+     */
+    private int timeoutSeconds = 3600;
+
+    /**
+     * Run on the connection at the start of every full-table read, e.g. {@code SET LOCAL statement_timeout = 0}
+     * to lift server-side limits for that transaction only.
+     */
+    private List<String> sessionSqls = new ArrayList<>();
+}
@@ -0,0 +1,39 @@
+package com.example.datasource;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * Prepares the current transaction's connection for a read that streams the whole users table, such as the
+ * NDJSON export or the {@link com.example.cache.EmailIndex} warm-up. Those reads hold the transaction open as
+ * long as the client or the index needs, so the request-path statement and idle-in-transaction timeouts are
+ * lifted with {@code app.datasource.bulk-read.session-sqls}; {@code SET LOCAL} ends with the transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkReadSession {
+
+    /** Transaction timeout for {@code @Transactional(timeoutString = ...)} on the full-table reads. */
+    public static final String TIMEOUT = "${app.datasource.bulk-read.timeout-seconds:3600}";
+
+    private final EntityManager entityManager;
+    private final BulkReadProperties properties;
+
+    /** Must be called inside the read's transaction, before its query runs. */
+    public void begin() {
+        if (properties.getSessionSqls().isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : properties.getSessionSqls()) {
+                    statement.execute(sql);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.connection-permits")
+public class ConnectionPermitProperties {
+
+    private boolean enabled = false;
+
+    private int maxWaiting = 200;
+
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,90 @@
+package com.example.datasource;
+
+import com.example.dto.ErrorResponse;
+import com.example.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntSupplier;
+
+/**
+ * Sheds /api requests with 503 and {@code Retry-After} before they can queue inside the pool: when
+ * {@code maxConcurrentRequests} are already in flight, or when {@code maxPendingConnections} threads are
+ * already waiting for a connection. A shed request costs no connection and no wait, so the pool keeps
+ * serving the requests it admitted within their timeouts instead of all of them timing out together.
+ */
+public class PoolAdmissionFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_METRIC = "http.server.requests.shed";
+
+    private final IntSupplier pendingConnections;
+    private final int maxPendingConnections;
+    private final Semaphore inFlight;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Counter poolRejections;
+    private final Counter concurrencyRejections;
+
+    public PoolAdmissionFilter(IntSupplier pendingConnections, AdmissionProperties properties,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.pendingConnections = pendingConnections;
+        this.maxPendingConnections = properties.getMaxPendingConnections();
+        this.inFlight = new Semaphore(properties.getMaxConcurrentRequests());
+        this.retryAfterSeconds = retryAfterSeconds(properties.getRetryAfter());
+        this.objectMapper = objectMapper;
+        this.poolRejections = rejections(meterRegistry, "pool");
+        this.concurrencyRejections = rejections(meterRegistry, "concurrency");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (pendingConnections.getAsInt() >= maxPendingConnections) {
+            poolRejections.increment();
+            reject(request, response);
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            concurrencyRejections.increment();
+            reject(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /** Whole seconds, at least 1, as {@code Retry-After} does not allow fractions. */
+    public static String retryAfterSeconds(Duration retryAfter) {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse body = ErrorResponse.of(ErrorCode.OVERLOADED,
+                "Too many concurrent requests, retry later", request.getRequestURI());
+        response.setStatus(body.getStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("/api requests answered 503 by admission control before reaching the pool")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
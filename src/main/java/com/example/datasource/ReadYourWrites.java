@@ -0,0 +1,87 @@
+package com.example.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers the users this instance wrote in the last {@code app.datasource.replicas.stickiness} and pins
+ * reads of them to the primary, so a client never reads its own write back from a lagging replica and the
+ * stale row never lands in the {@link com.example.cache.UserCache}. Writes made through other instances are
+ * only bounded by the replica lag checks in {@link ReplicaPools}.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Cache<Object, Boolean> recentWrites;
+
+    public ReadYourWrites(ReplicaProperties properties) {
+        this.recentWrites = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(properties.getStickiness())
+                        .maximumSize(properties.getStickinessMaximumSize())
+                        .build()
+                : null;
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /** Starts the stickiness window for the given ids and emails once the current transaction commits. */
+    public void written(Object... keys) {
+        if (recentWrites == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(keys);
+            }
+        });
+    }
+
+    /** Whether {@code key} was written by this instance within the stickiness window. */
+    public boolean isRecent(Object key) {
+        return recentWrites != null && recentWrites.getIfPresent(key) != null;
+    }
+
+    /** Runs {@code read} against the primary if {@code key} was written recently, otherwise as routed. */
+    public <T> T read(Object key, Supplier<T> read) {
+        return isRecent(key) ? readFromPrimary(read) : read.get();
+    }
+
+    /**
+     * Runs {@code read} against the primary. The pin only affects connections acquired inside {@code read},
+     * so it must open its own transaction rather than join one that already holds a replica connection.
+     */
+    public <T> T readFromPrimary(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    private void remember(Object... keys) {
+        for (Object key : keys) {
+            if (key != null) {
+                recentWrites.put(key, Boolean.TRUE);
+            }
+        }
+    }
+}
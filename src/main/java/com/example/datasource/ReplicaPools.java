@@ -0,0 +1,135 @@
+package com.example.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One Hikari pool per {@code app.datasource.replicas.nodes} entry, handed out round-robin by {@link #next()}.
+ * A background check runs {@code lag-query} on every replica and takes it out of rotation while its lag
+ * exceeds {@code max-lag} or it cannot be reached.
+ */
+@Slf4j
+public class ReplicaPools implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaPools(ReplicaProperties properties) {
+        this(createPools(properties), properties.getLagQuery(), properties.getMaxLag());
+        if (lagQuery != null && !lagQuery.isBlank()) {
+            lagChecker.scheduleWithFixedDelay(this::checkLag, 0,
+                    properties.getLagCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Routing read-only transactions to {} replica(s), max lag {}",
+                replicas.size(), properties.getMaxLag());
+    }
+
+    ReplicaPools(List<DataSource> dataSources, String lagQuery, Duration maxLag) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.enabled requires at least one node");
+        }
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"));
+    }
+
+    /** The next replica in rotation that passed its last lag check, or {@code null} if none did. */
+    public DataSource next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    public List<DataSource> dataSources() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    public int availableCount() {
+        return (int) replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            boolean available = withinLag(replica.dataSource);
+            if (available != replica.available) {
+                log.warn("Replica {} {} rotation", replica.dataSource, available ? "returned to" : "taken out of");
+            }
+            replica.available = available;
+        }
+    }
+
+    private boolean withinLag(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            return resultSet.next() && resultSet.getDouble(1) <= maxLagSeconds;
+        } catch (Exception e) {
+            log.debug("Lag check failed for replica {}: {}", dataSource, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    private static List<DataSource> createPools(ReplicaProperties properties) {
+        List<DataSource> pools = new ArrayList<>(properties.getNodes().size());
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReplicaProperties.Node node = properties.getNodes().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(node.getUrl());
+            config.setUsername(node.getUsername());
+            config.setPassword(node.getPassword());
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+            config.setMinimumIdle(properties.getMinimumIdle());
+            config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // a replica that is down at startup is just out of rotation until its lag check passes
+            config.setInitializationFailTimeout(-1);
+            pools.add(new HikariDataSource(config));
+        }
+        return pools;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
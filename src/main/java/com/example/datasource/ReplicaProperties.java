@@ -0,0 +1,47 @@
+package com.example.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Pool settings shared by every replica; the primary keeps using {@code spring.datasource.hikari.*}. */
+    private int maximumPoolSize = 10;
+
+    private int minimumIdle = 2;
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    /** How long reads of a user this instance has just written keep going to the primary. */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    private int stickinessMaximumSize = 100_000;
+
+    /** Returns the replica's lag in seconds; blank disables lag checks. */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the {@link LazyConnectionDataSourceProxy} in front of the primary. The proxy only asks
+ * for a connection at the first statement, after the transaction has marked it read-only, and this picks a
+ * replica then; reads pinned by {@link ReadYourWrites}, or made while no replica is usable, go to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPools replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPools replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    DataSource route() {
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            return primary;
+        }
+        DataSource replica = replicas.next();
+        return replica != null ? replica : primary;
+    }
+}
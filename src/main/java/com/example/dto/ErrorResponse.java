@@ -1,5 +1,6 @@
 package com.example.dto;
 
+import com.example.exception.ErrorCode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
@@ -26,6 +27,9 @@ public class ErrorResponse {
     @Schema(description = "Описание ошибки", example = "Bad Request")
     private String error;
 
+    @Schema(description = "Код ошибки", example = "EMAIL_INVALID")
+    private String code;
+
     @Schema(description = "Сообщение об ошибке", example = "Invalid email format")
     private String message;
 
@@ -35,6 +39,22 @@ public class ErrorResponse {
     @Schema(description = "Детали ошибки")
     private Map<String, String> details;
 
+    public static ErrorResponse of(ErrorCode code, String message, String path) {
+        return of(code, message, null, path);
+    }
+
+    public static ErrorResponse of(ErrorCode code, String message, Map<String, String> details, String path) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(code.getStatus().value())
+                .error(code.getStatus().getReasonPhrase())
+                .code(code.name())
+                .message(message)
+                .details(details)
+                .path(path)
+                .build();
+    }
+
     public static ErrorResponse of(HttpStatus status, String message, String path) {
         return ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
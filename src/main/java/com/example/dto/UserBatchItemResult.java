@@ -0,0 +1,57 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат создания одного пользователя из пакета")
+public class UserBatchItemResult {
+
+    @Schema(description = "Позиция элемента в запросе", example = "0")
+    private int index;
+
+    @Schema(description = "HTTP статус для элемента", example = "201")
+    private int status;
+
+    @Schema(description = "Созданный пользователь")
+    private UserResponse user;
+
+    @Schema(description = "Сообщение об ошибке", example = "Email already exists: ivan@example.com")
+    private String message;
+
+    @Schema(description = "Детали ошибки валидации")
+    private Map<String, String> details;
+
+    public static UserBatchItemResult created(int index, UserResponse user) {
+        return UserBatchItemResult.builder()
+                .index(index)
+                .status(HttpStatus.CREATED.value())
+                .user(user)
+                .build();
+    }
+
+    public static UserBatchItemResult failed(int index, HttpStatus status, String message) {
+        return failed(index, status, message, null);
+    }
+
+    public static UserBatchItemResult failed(int index, HttpStatus status, String message,
+                                             Map<String, String> details) {
+        return UserBatchItemResult.builder()
+                .index(index)
+                .status(status.value())
+                .message(message)
+                .details(details)
+                .build();
+    }
+}
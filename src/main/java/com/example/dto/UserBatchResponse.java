@@ -0,0 +1,26 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат пакетного создания пользователей")
+public class UserBatchResponse {
+
+    @Schema(description = "Количество созданных пользователей", example = "2")
+    private int created;
+
+    @Schema(description = "Количество отклоненных элементов", example = "1")
+    private int failed;
+
+    @Schema(description = "Результаты по каждому элементу в порядке запроса")
+    private List<UserBatchItemResult> results;
+}
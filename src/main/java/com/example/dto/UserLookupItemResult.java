@@ -0,0 +1,46 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат поиска одного пользователя из пакета")
+public class UserLookupItemResult {
+
+    @Schema(description = "Запрошенный ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Запрошенный email", example = "ivan@example.com")
+    private String email;
+
+    @Schema(description = "HTTP статус для элемента: 200 или 404", example = "200")
+    private int status;
+
+    @Schema(description = "Найденный пользователь")
+    private UserResponse user;
+
+    public static UserLookupItemResult byId(Long id, UserResponse user) {
+        return UserLookupItemResult.builder()
+                .id(id)
+                .status(user != null ? HttpStatus.OK.value() : HttpStatus.NOT_FOUND.value())
+                .user(user)
+                .build();
+    }
+
+    public static UserLookupItemResult byEmail(String email, UserResponse user) {
+        return UserLookupItemResult.builder()
+                .email(email)
+                .status(user != null ? HttpStatus.OK.value() : HttpStatus.NOT_FOUND.value())
+                .user(user)
+                .build();
+    }
+}
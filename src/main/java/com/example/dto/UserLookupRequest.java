@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "ID и/или email пользователей для пакетного поиска")
+public class UserLookupRequest {
+
+    @Schema(description = "ID пользователей", example = "[1, 2, 3]")
+    private List<@NotNull(message = "Id must not be null") Long> ids;
+
+    @Schema(description = "Email пользователей, без учета регистра", example = "[\"ivan@example.com\"]")
+    private List<@NotBlank(message = "Email must not be blank") String> emails;
+}
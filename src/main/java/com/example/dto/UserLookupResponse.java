@@ -0,0 +1,26 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результат пакетного поиска пользователей")
+public class UserLookupResponse {
+
+    @Schema(description = "Количество найденных элементов", example = "2")
+    private int found;
+
+    @Schema(description = "Количество ненайденных элементов", example = "1")
+    private int notFound;
+
+    @Schema(description = "Результаты в порядке запроса: сначала по ids, затем по emails")
+    private List<UserLookupItemResult> results;
+}
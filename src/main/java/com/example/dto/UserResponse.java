@@ -1,5 +1,6 @@
 package com.example.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,4 +31,9 @@ public class UserResponse extends RepresentationModel<UserResponse> {
 
     @Schema(description = "Дата и время создания", example = "2025-01-23T10:30:00")
     private LocalDateTime createdAt;
+
+    /** Sent as the ETag header rather than in the body. */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
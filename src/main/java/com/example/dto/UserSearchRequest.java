@@ -0,0 +1,41 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "Фильтры поиска пользователей, все необязательные и комбинируемые")
+public class UserSearchRequest {
+
+    @Size(max = 100, message = "Name prefix must be at most 100 characters")
+    @Schema(description = "Начало имени, без учета регистра (не короче 3 символов)", example = "Ива")
+    private String name;
+
+    @Size(max = 100, message = "Email domain must be at most 100 characters")
+    @Schema(description = "Домен email", example = "example.com")
+    private String emailDomain;
+
+    @Min(value = 0, message = "Age must be positive or zero")
+    @Max(value = 120, message = "Age must be less than or equal to 120")
+    @Schema(description = "Минимальный возраст, включительно", example = "18")
+    private Integer minAge;
+
+    @Min(value = 0, message = "Age must be positive or zero")
+    @Max(value = 120, message = "Age must be less than or equal to 120")
+    @Schema(description = "Максимальный возраст, включительно", example = "30")
+    private Integer maxAge;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Создан не раньше", example = "2025-01-01T00:00:00")
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Создан раньше", example = "2025-02-01T00:00:00")
+    private LocalDateTime createdTo;
+}
@@ -0,0 +1,64 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "user_event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_event_outbox_id")
+    @SequenceGenerator(name = "user_event_outbox_id", sequenceName = "user_event_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(name = "previous_email", length = 100)
+    private String previousEmail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Long occurredAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    /** Epoch millis before which the row is not claimed: a lease while it is in flight, or a retry backoff. */
+    @Builder.Default
+    @Column(name = "next_attempt_at", nullable = false)
+    private long nextAttemptAt = 0;
+
+    @Column(name = "dead_lettered_at")
+    private Long deadLetteredAt;
+
+    public void recordFailure(String error, long retryAt) {
+        attempts++;
+        nextAttemptAt = retryAt;
+        lastError = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    public void deadLetter(long now) {
+        deadLetteredAt = now;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.exception;
+
+import com.example.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Classifies integrity violations by SQLState and constraint name instead of scanning message text.
+ */
+public final class ConstraintViolations {
+
+    /** SQL standard class 23 "unique violation", reported by both PostgreSQL and H2. */
+    static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    public static ErrorCode classify(DataIntegrityViolationException ex) {
+        return isEmailTaken(ex) ? ErrorCode.EMAIL_ALREADY_EXISTS : ErrorCode.DATA_INTEGRITY_VIOLATION;
+    }
+
+    public static boolean isEmailTaken(DataIntegrityViolationException ex) {
+        String constraintName = null;
+        String sqlState = null;
+
+        for (Throwable cause = ex; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (constraintName == null && cause instanceof ConstraintViolationException violation) {
+                constraintName = violation.getConstraintName();
+            }
+            if (sqlState == null && cause instanceof SQLException sql) {
+                sqlState = sql.getSQLState();
+            }
+        }
+
+        // An unnamed unique violation could come from any unique index (or the primary key); reporting it as
+        // a taken email would send clients a misleading 409, so it stays a generic integrity violation.
+        return UNIQUE_VIOLATION.equals(sqlState)
+                && constraintName != null
+                && normalize(constraintName).startsWith(User.EMAIL_CONSTRAINT);
+    }
+
+    /**
+     * PostgreSQL reports the bare constraint name; H2 reports the backing index with its definition,
+     * e.g. {@code "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL ...) VALUES ...}.
+     */
+    static String normalize(String constraintName) {
+        String name = constraintName.strip();
+        if (name.startsWith("\"")) {
+            name = name.substring(1);
+        }
+        int end = name.indexOf(' ');
+        if (end >= 0) {
+            name = name.substring(0, end);
+        }
+        return name.substring(name.lastIndexOf('.') + 1).replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.exception;
+
+/**
+ * Base class for expected business failures. These are control flow rather than bugs, so they skip
+ * the stack trace and suppression bookkeeping: constructing one costs about as much as the message.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    protected DomainException(ErrorCode code, String message) {
+        this(code, message, null);
+    }
+
+    protected DomainException(ErrorCode code, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -1,11 +1,11 @@
 package com.example.exception;
 
-public class EmailValidationException extends RuntimeException {
+public class EmailValidationException extends DomainException {
     public EmailValidationException(String message) {
-        super(message);
+        super(ErrorCode.EMAIL_INVALID, message);
     }
 
     public EmailValidationException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.EMAIL_INVALID, message, cause);
     }
 }
@@ -0,0 +1,32 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable machine-readable error codes returned in {@code ErrorResponse.code}.
+ */
+public enum ErrorCode {
+
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    EMAIL_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    VERSION_MISMATCH(HttpStatus.PRECONDITION_FAILED),
+    CONCURRENT_UPDATE(HttpStatus.CONFLICT),
+    EMAIL_INVALID(HttpStatus.BAD_REQUEST),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST),
+    INVALID_ARGUMENT(HttpStatus.BAD_REQUEST),
+    DATA_INTEGRITY_VIOLATION(HttpStatus.CONFLICT),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE),
+    DATABASE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
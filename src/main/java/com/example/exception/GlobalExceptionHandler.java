@@ -1,95 +1,123 @@
 package com.example.exception;
 
+import com.example.datasource.PoolAdmissionFilter;
 import com.example.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Maps failures to {@link ErrorResponse} by {@link ErrorCode}. Expected failures are logged at WARN
+ * without stack traces and at most {@code app.errors.log-limit} lines per code per second.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(UserNotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ErrorResponse handleUserNotFound(UserNotFoundException ex, HttpServletRequest request) {
-        log.warn("User not found: {}", ex.getMessage());
-        return ErrorResponse.of(HttpStatus.NOT_FOUND, ex.getMessage(),
-                request.getRequestURI());
-    }
+    private final LogThrottle logThrottle;
+    private final String retryAfterSeconds;
 
-    @ExceptionHandler(UserAlreadyExistsException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse handleUserAlreadyExists(UserAlreadyExistsException ex, HttpServletRequest request) {
-        log.warn("User already exists: {}", ex.getMessage());
-        return ErrorResponse.of(HttpStatus.CONFLICT, ex.getMessage(),
-                request.getRequestURI());
+    public GlobalExceptionHandler(@Value("${app.errors.log-limit:20}") int logLimit,
+                                  @Value("${app.datasource.admission.retry-after:1s}") Duration retryAfter) {
+        this.logThrottle = new LogThrottle(logLimit, Duration.ofSeconds(1).toNanos());
+        this.retryAfterSeconds = PoolAdmissionFilter.retryAfterSeconds(retryAfter);
     }
 
-    @ExceptionHandler(EmailValidationException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleEmailValidation(EmailValidationException ex, HttpServletRequest request) {
-        log.warn("Email validation failed: {}", ex.getMessage());
-        return ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
-                request.getRequestURI());
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex, HttpServletRequest request) {
+        warn(ex.getCode(), request, ex.getMessage());
+        return respond(ErrorResponse.of(ex.getCode(), ex.getMessage(), request.getRequestURI()));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
-        log.warn("Invalid argument: {}", ex.getMessage());
-        return ErrorResponse.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
-                request.getRequestURI());
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex,
+                                                               HttpServletRequest request) {
+        warn(ErrorCode.INVALID_ARGUMENT, request, ex.getMessage());
+        return respond(ErrorResponse.of(ErrorCode.INVALID_ARGUMENT, ex.getMessage(), request.getRequestURI()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleValidation(MethodArgumentNotValidException ex,
-                                          HttpServletRequest request) {
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex,
+                                                          HttpServletRequest request) {
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors()
                 .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
 
-        log.warn("Validation failed for {}: {}", request.getRequestURI(), errors);
-        return ErrorResponse.of(HttpStatus.BAD_REQUEST, "Validation failed",
-                errors, request.getRequestURI());
+        warn(ErrorCode.VALIDATION_FAILED, request, errors);
+        return respond(ErrorResponse.of(ErrorCode.VALIDATION_FAILED, "Validation failed",
+                errors, request.getRequestURI()));
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorResponse handleDataIntegrityViolation(DataIntegrityViolationException ex,
-                                                      HttpServletRequest request) {
-        log.error("Data integrity violation for {}: {}", request.getRequestURI(), ex.getMessage());
-
-        String errorMessage = ex.getMessage() != null ? ex.getMessage().toLowerCase() : "";
-        String message;
-
-        if (errorMessage.contains("email") ||
-                errorMessage.contains("unique") ||
-                errorMessage.contains("duplicate") ||
-                errorMessage.contains("constraint")) {
-            message = "Email already exists";
-        } else {
-            message = "Data integrity violation";
-        }
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+                                                                      HttpServletRequest request) {
+        ErrorCode code = ConstraintViolations.classify(ex);
+        String message = code == ErrorCode.EMAIL_ALREADY_EXISTS ? "Email already exists" : "Data integrity violation";
+
+        warn(code, request, ex.getMostSpecificCause().getMessage());
+        return respond(ErrorResponse.of(code, message, request.getRequestURI()));
+    }
+
+    /**
+     * No connection within the pool's {@code connection-timeout}, the database unreachable, or a statement
+     * cancelled by {@code statement_timeout}: all transient, so 503 with {@code Retry-After} rather than 500.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class,
+            QueryTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex, HttpServletRequest request) {
+        warn(ErrorCode.DATABASE_UNAVAILABLE, request, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        ErrorResponse body = ErrorResponse.of(ErrorCode.DATABASE_UNAVAILABLE,
+                "Database temporarily unavailable, retry later", request.getRequestURI());
+        return ResponseEntity.status(body.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .body(body);
+    }
 
-        return ErrorResponse.of(HttpStatus.CONFLICT, message, request.getRequestURI());
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoResource(NoResourceFoundException ex, HttpServletRequest request) {
+        warn(ErrorCode.RESOURCE_NOT_FOUND, request, ex.getResourcePath());
+        return respond(ErrorResponse.of(ErrorCode.RESOURCE_NOT_FOUND, "Resource not found", request.getRequestURI()));
     }
 
     @ExceptionHandler(Exception.class)
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleGenericException(Exception ex,
-                                                HttpServletRequest request) {
+    public ResponseEntity<ErrorResponse> handleGenericException(Exception ex,
+                                                                HttpServletRequest request) {
         log.error("Internal server error: {}: {}", request.getRequestURI(), ex.getMessage(), ex);
-        return ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR,
-                "Internal server error", request.getRequestURI());
+        return respond(ErrorResponse.of(ErrorCode.INTERNAL_ERROR, "Internal server error", request.getRequestURI()));
+    }
+
+    private void warn(ErrorCode code, HttpServletRequest request, Object detail) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = logThrottle.acquire(code);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed > 0) {
+            log.warn("{} for {}: {} ({} similar suppressed)", code, request.getRequestURI(), detail, suppressed);
+        } else {
+            log.warn("{} for {}: {}", code, request.getRequestURI(), detail);
+        }
+    }
+
+    private static ResponseEntity<ErrorResponse> respond(ErrorResponse body) {
+        return ResponseEntity.status(body.getStatus()).body(body);
     }
 }
@@ -0,0 +1,58 @@
+package com.example.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caps how often the same kind of log line is written. Each key may log {@code maxPerWindow} lines per
+ * window; the rest are counted and reported with the first line of the next window.
+ */
+final class LogThrottle {
+
+    private static final int MAX_KEYS = 256;
+
+    private final int maxPerWindow;
+    private final long windowNanos;
+    private final ConcurrentMap<Object, Window> windows = new ConcurrentHashMap<>();
+
+    LogThrottle(int maxPerWindow, long windowNanos) {
+        this.maxPerWindow = maxPerWindow;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Returns -1 if the line must be dropped, otherwise the number of lines suppressed since the
+     * previous one that was written.
+     */
+    long acquire(Object key) {
+        if (maxPerWindow <= 0) {
+            return 0;
+        }
+        if (windows.size() >= MAX_KEYS && !windows.containsKey(key)) {
+            windows.clear();
+        }
+        return windows.computeIfAbsent(key, k -> new Window()).acquire(System.nanoTime());
+    }
+
+    private final class Window {
+
+        private long start;
+        private int written;
+        private long suppressed;
+
+        synchronized long acquire(long now) {
+            if (written == 0 || now - start >= windowNanos) {
+                start = now;
+                written = 0;
+            }
+            if (written < maxPerWindow) {
+                written++;
+                long dropped = suppressed;
+                suppressed = 0;
+                return dropped;
+            }
+            suppressed++;
+            return -1;
+        }
+    }
+}
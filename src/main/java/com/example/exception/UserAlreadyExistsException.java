@@ -1,11 +1,11 @@
 package com.example.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends DomainException {
     public UserAlreadyExistsException(String message) {
-        super(message);
+        super(ErrorCode.EMAIL_ALREADY_EXISTS, message);
     }
 
     public UserAlreadyExistsException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.EMAIL_ALREADY_EXISTS, message, cause);
     }
 }
@@ -0,0 +1,24 @@
+package com.example.exception;
+
+public class UserVersionConflictException extends DomainException {
+
+    private UserVersionConflictException(ErrorCode code, String message) {
+        super(code, message);
+    }
+
+    /**
+     * The client's If-Match does not name the current version.
+     */
+    public static UserVersionConflictException preconditionFailed(Long id) {
+        return new UserVersionConflictException(ErrorCode.VERSION_MISMATCH,
+                "User " + id + " has been modified since the given version");
+    }
+
+    /**
+     * Another writer updated the row between our read and our write.
+     */
+    public static UserVersionConflictException concurrentUpdate(Long id) {
+        return new UserVersionConflictException(ErrorCode.CONCURRENT_UPDATE,
+                "User " + id + " was updated concurrently, retry with the current version");
+    }
+}
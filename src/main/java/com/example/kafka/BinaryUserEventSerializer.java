@@ -0,0 +1,196 @@
+package com.example.kafka;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protobuf-style encoding of {@link UserEvent}: every field is written as a varint key
+ * (field number and wire type) followed by a varint or a length-prefixed UTF-8 string.
+ * Readers skip field numbers they do not know and leave missing fields null, so fields can be
+ * added without breaking older consumers. Field numbers must never be reused. Truncated payloads
+ * and known fields with an unexpected wire type fail with an {@link IllegalArgumentException}
+ * naming the offset.
+ */
+@Component
+public class BinaryUserEventSerializer implements UserEventSerializer {
+
+    public static final int SCHEMA_ID = 2;
+
+    static final int EVENT_TYPE = 1;
+    static final int EMAIL = 2;
+    static final int USER_ID = 3;
+    static final int USER_NAME = 4;
+    static final int TIMESTAMP = 5;
+    static final int PREVIOUS_EMAIL = 6;
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+    static final int WIRE_FIXED32 = 5;
+
+    @Override
+    public String format() {
+        return "binary";
+    }
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/vnd.example.user-event+binary";
+    }
+
+    @Override
+    public byte[] serialize(UserEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        if (event.getEventType() != null) {
+            writeVarintField(out, EVENT_TYPE, event.getEventType().getCode());
+        }
+        if (event.getEmail() != null) {
+            writeStringField(out, EMAIL, event.getEmail());
+        }
+        if (event.getUserId() != null) {
+            writeVarintField(out, USER_ID, event.getUserId());
+        }
+        if (event.getUserName() != null) {
+            writeStringField(out, USER_NAME, event.getUserName());
+        }
+        if (event.getTimestamp() != null) {
+            writeVarintField(out, TIMESTAMP, event.getTimestamp());
+        }
+        if (event.getPreviousEmail() != null) {
+            writeStringField(out, PREVIOUS_EMAIL, event.getPreviousEmail());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public UserEvent deserialize(byte[] payload) {
+        Reader reader = new Reader(payload);
+        UserEvent event = new UserEvent();
+
+        while (reader.hasRemaining()) {
+            int offset = reader.position;
+            long key = reader.readVarint();
+            int field = (int) (key >>> 3);
+            int wireType = (int) (key & 0x7);
+
+            switch (field) {
+                case EVENT_TYPE -> event.setEventType(UserEventType.fromCode(
+                        (int) reader.readVarint(field, wireType, offset)));
+                case EMAIL -> event.setEmail(reader.readString(field, wireType, offset));
+                case USER_ID -> event.setUserId(reader.readVarint(field, wireType, offset));
+                case USER_NAME -> event.setUserName(reader.readString(field, wireType, offset));
+                case TIMESTAMP -> event.setTimestamp(reader.readVarint(field, wireType, offset));
+                case PREVIOUS_EMAIL -> event.setPreviousEmail(reader.readString(field, wireType, offset));
+                default -> reader.skip(wireType, offset);
+            }
+        }
+        return event;
+    }
+
+    static void writeVarintField(ByteArrayOutputStream out, int field, long value) {
+        writeVarint(out, ((long) field << 3) | WIRE_VARINT);
+        writeVarint(out, value);
+    }
+
+    static void writeStringField(ByteArrayOutputStream out, int field, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, ((long) field << 3) | WIRE_LENGTH_DELIMITED);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean hasRemaining() {
+            return position < buffer.length;
+        }
+
+        long readVarint(int field, int wireType, int offset) {
+            expect(field, wireType, WIRE_VARINT, offset);
+            return readVarint();
+        }
+
+        String readString(int field, int wireType, int offset) {
+            expect(field, wireType, WIRE_LENGTH_DELIMITED, offset);
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        long readVarint() {
+            int start = position;
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (!hasRemaining()) {
+                    throw new IllegalArgumentException("Truncated varint at offset " + start + " in user event");
+                }
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at offset " + start + " in user event");
+        }
+
+        void skip(int wireType, int offset) {
+            switch (wireType) {
+                case WIRE_VARINT -> readVarint();
+                case WIRE_FIXED64 -> advance(8);
+                case WIRE_LENGTH_DELIMITED -> advance(readLength());
+                case WIRE_FIXED32 -> advance(4);
+                default -> throw new IllegalArgumentException(
+                        "Unknown wire type " + wireType + " at offset " + offset + " in user event");
+            }
+        }
+
+        private int readLength() {
+            int start = position;
+            long length = readVarint();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Length " + length + " at offset " + start
+                        + " exceeds the " + (buffer.length - position) + " remaining bytes of user event");
+            }
+            return (int) length;
+        }
+
+        private void advance(int bytes) {
+            if (bytes > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated field at offset " + position + ": needs " + bytes
+                        + " bytes, " + (buffer.length - position) + " remaining in user event");
+            }
+            position += bytes;
+        }
+
+        private static void expect(int field, int wireType, int expected, int offset) {
+            if (wireType != expected) {
+                throw new IllegalArgumentException("Field " + field + " at offset " + offset + " has wire type "
+                        + wireType + ", expected " + expected + " in user event");
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.events.publisher")
+public class EventPublisherProperties {
+
+    private int queueCapacity = 10_000;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    private Duration blockTimeout = Duration.ofSeconds(5);
+
+    private int maxRetries = 3;
+
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    private int replayBatchSize = 100;
+
+    /** How long replay waits for a chunk of spilled events to be acknowledged before retrying later. */
+    private Duration replayAckTimeout = Duration.ofSeconds(30);
+
+    private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "user-events-spill");
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+}
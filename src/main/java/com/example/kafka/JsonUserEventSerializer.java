@@ -0,0 +1,50 @@
+package com.example.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Component
+@RequiredArgsConstructor
+public class JsonUserEventSerializer implements UserEventSerializer {
+
+    public static final int SCHEMA_ID = 1;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String format() {
+        return "json";
+    }
+
+    @Override
+    public int schemaId() {
+        return SCHEMA_ID;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+
+    @Override
+    public byte[] serialize(UserEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public UserEvent deserialize(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, UserEvent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    private int batchSize = 100;
+
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private int parallelism = 1;
+
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /** How long a claimed row is hidden from other workers; must exceed send-timeout. */
+    private Duration leaseTimeout = Duration.ofSeconds(60);
+
+    /** Failed sends before a row is dead-lettered: kept in the table but no longer claimed. */
+    private int maxAttempts = 10;
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+}
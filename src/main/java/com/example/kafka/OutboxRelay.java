@@ -0,0 +1,193 @@
+package com.example.kafka;
+
+import com.example.entity.OutboxEvent;
+import com.example.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes rows written by {@link UserEventOutbox} once their transaction has committed.
+ * Each worker claims and leases a batch in a short transaction, sends it with no transaction
+ * open, then deletes the rows the broker acknowledged and reschedules the rest with backoff.
+ * A row that keeps failing is dead-lettered after {@code max-attempts} and no longer claimed.
+ * The relay is in the default, last lifecycle phase, so {@link #stop()} ends its workers before
+ * any other lifecycle bean stops and before the context destroys the {@code DataSource}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventProducer userEventProducer;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxProperties properties;
+    private final Environment environment;
+
+    private volatile ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("outbox-relay-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("outbox-relay-");
+        executor = Executors.newScheduledThreadPool(properties.getParallelism(), threadFactory);
+
+        for (int i = 0; i < properties.getParallelism(); i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0,
+                    properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Outbox relay started with {} worker(s), batch size {}",
+                properties.getParallelism(), properties.getBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void drain() {
+        try {
+            while (running && relayBatch() == properties.getBatchSize()) {
+                log.debug("Outbox batch fully acknowledged, polling again");
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay iteration failed: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent row : batch) {
+            sends.add(userEventProducer.publish(toUserEvent(row)));
+        }
+
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        List<Long> acked = new ArrayList<>(batch.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent row = batch.get(i);
+            String error = null;
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acked.add(row.getId());
+            } catch (ExecutionException e) {
+                error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            } catch (TimeoutException e) {
+                error = "Not acknowledged within " + properties.getSendTimeout();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = "Relay interrupted";
+            }
+            if (error != null) {
+                recordFailure(row, error);
+                failed.add(row);
+            }
+        }
+
+        complete(acked, failed);
+        if (!failed.isEmpty()) {
+            log.warn("Outbox relay: {} of {} events not acknowledged, will retry",
+                    failed.size(), batch.size());
+        }
+        return acked.size();
+    }
+
+    /**
+     * Claims due rows with {@code FOR UPDATE SKIP LOCKED} and leases them by moving {@code next_attempt_at}
+     * past the send timeout, all in one short transaction: no lock or connection is held while publishing.
+     */
+    private List<OutboxEvent> claim() {
+        long now = System.currentTimeMillis();
+        long leasedUntil = now + properties.getLeaseTimeout().toMillis();
+        List<OutboxEvent> batch = new TransactionTemplate(transactionManager).execute(status -> {
+            List<OutboxEvent> rows = outboxEventRepository.findClaimable(now, Limit.of(properties.getBatchSize()));
+            rows.forEach(row -> row.setNextAttemptAt(leasedUntil));
+            return rows;
+        });
+        return batch != null ? batch : List.of();
+    }
+
+    private void complete(List<Long> acked, List<OutboxEvent> failed) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (!acked.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(acked);
+            }
+            if (!failed.isEmpty()) {
+                outboxEventRepository.saveAll(failed);
+            }
+        });
+    }
+
+    /** Exponential backoff from {@code retry-backoff}; after {@code max-attempts} the row is dead-lettered. */
+    private void recordFailure(OutboxEvent row, String error) {
+        long now = System.currentTimeMillis();
+        int exponent = Math.min(row.getAttempts(), 20);
+        long backoff = Math.min(properties.getRetryBackoff().toMillis() << exponent,
+                properties.getMaxRetryBackoff().toMillis());
+        row.recordFailure(error, now + backoff);
+        if (row.getAttempts() >= properties.getMaxAttempts()) {
+            row.deadLetter(now);
+            log.error("Outbox event {} ({} for user {}) dead-lettered after {} attempts: {}",
+                    row.getId(), row.getEventType(), row.getUserId(), row.getAttempts(), error);
+        }
+    }
+
+    private UserEvent toUserEvent(OutboxEvent row) {
+        return new UserEvent(
+                UserEventType.valueOf(row.getEventType()),
+                row.getEmail(),
+                row.getUserId(),
+                row.getUserName(),
+                row.getOccurredAt(),
+                row.getPreviousEmail()
+        );
+    }
+}
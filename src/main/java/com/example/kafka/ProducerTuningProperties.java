@@ -0,0 +1,35 @@
+package com.example.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.kafka.producer")
+public class ProducerTuningProperties {
+
+    private Profile profile = Profile.DEFAULT;
+
+    private Throughput throughput = new Throughput();
+
+    public enum Profile {
+        DEFAULT,
+        THROUGHPUT
+    }
+
+    @Data
+    public static class Throughput {
+
+        private String compressionType = "lz4";
+
+        private Duration linger = Duration.ofMillis(20);
+
+        private DataSize batchSize = DataSize.ofKilobytes(128);
+
+        private DataSize bufferMemory = DataSize.ofMegabytes(64);
+
+        private int maxInFlightRequestsPerConnection = 5;
+    }
+}
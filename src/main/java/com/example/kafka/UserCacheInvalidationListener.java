@@ -0,0 +1,52 @@
+package com.example.kafka;
+
+import com.example.cache.EmailIndex;
+import com.example.cache.UserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.user-cache", name = "kafka-invalidation", havingValue = "true")
+public class UserCacheInvalidationListener {
+
+    private final UserCache userCache;
+    private final EmailIndex emailIndex;
+    private final UserEventSerializers serializers;
+
+    @KafkaListener(
+            topics = UserEventProducer.TOPIC,
+            groupId = "${app.user-cache.invalidation-group-id:user-cache-${random.uuid}}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"
+            }
+    )
+    public void onUserEvent(ConsumerRecord<String, byte[]> record) {
+        try {
+            UserEvent event = serializers.deserialize(record.value(), record.headers());
+            if (event.getEventType() == UserEventType.USER_CREATED) {
+                emailIndex.remember(event.getEmail());
+                return;
+            }
+            if (event.getEventType() == UserEventType.USER_DELETED) {
+                emailIndex.forget(event.getEmail());
+            } else if (event.getEventType() == UserEventType.USER_UPDATED) {
+                emailIndex.remember(event.getEmail());
+                if (event.getPreviousEmail() != null) {
+                    emailIndex.forget(event.getPreviousEmail());
+                }
+            }
+
+            userCache.evict(event.getUserId(), event.getEmail(), event.getPreviousEmail());
+            log.debug("Evicted user {} from cache after {}", event.getUserId(), event.getEventType());
+        } catch (Exception e) {
+            log.warn("Skipping unreadable user event: {}", e.getMessage());
+        }
+    }
+}
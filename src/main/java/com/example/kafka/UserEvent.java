@@ -1,5 +1,6 @@
 package com.example.kafka;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,12 @@ public class UserEvent {
     private Long userId;
     private String userName;
     private Long timestamp;
+
+    /** Email before a {@link UserEventType#USER_UPDATED} that changed it; null otherwise. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String previousEmail;
+
+    public UserEvent(UserEventType eventType, String email, Long userId, String userName, Long timestamp) {
+        this(eventType, email, userId, userName, timestamp, null);
+    }
 }
@@ -0,0 +1,49 @@
+package com.example.kafka;
+
+import com.example.entity.OutboxEvent;
+import com.example.entity.User;
+import com.example.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class UserEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(UserEventType eventType, User user) {
+        enqueueAll(eventType, List.of(user));
+    }
+
+    /** For {@link UserEventType#USER_UPDATED}: {@code previousEmail} is set only when the email changed. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(UserEventType eventType, User user, String previousEmail) {
+        outboxEventRepository.save(row(eventType, user, System.currentTimeMillis(), previousEmail));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(UserEventType eventType, List<User> users) {
+        long now = System.currentTimeMillis();
+
+        outboxEventRepository.saveAll(users.stream()
+                .map(user -> row(eventType, user, now, null))
+                .toList());
+    }
+
+    private static OutboxEvent row(UserEventType eventType, User user, long now, String previousEmail) {
+        return OutboxEvent.builder()
+                .eventType(eventType.name())
+                .userId(user.getId())
+                .email(user.getEmail())
+                .userName(user.getName())
+                .previousEmail(previousEmail)
+                .occurredAt(now)
+                .build();
+    }
+}
@@ -1,38 +1,383 @@
 package com.example.kafka;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes user events through a bounded in-memory queue drained by a single dispatcher thread,
+ * so callers never block on broker metadata or acks. The returned future completes when the
+ * broker acknowledges the record; what happens when the queue is full is decided by
+ * {@link EventPublisherProperties.OverflowPolicy}. Spilled events keep their future pending until
+ * the replayed record is acknowledged, and replay records in {@code replay.offset} how many lines
+ * of the replay file were acknowledged, so a crash or failed send resumes there instead of
+ * re-sending the whole file. Spilled lines carry an id prefixed with a per-instance UUID, so lines
+ * left behind by a previous process are replayed without completing this process's futures.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class UserEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    public static final String TOPIC = "user-events";
+
+    private static final String SPILL_FILE = "spill.ndjson";
+    private static final String REPLAY_FILE = "replay.ndjson";
+    private static final String REPLAY_OFFSET_FILE = "replay.offset";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final UserEventSerializers serializers;
+    private final EventPublisherProperties properties;
+    private final BlockingQueue<PendingEvent> queue;
+    // not synchronized: spilling does file I/O and would pin a virtual carrier thread
+    private final ReentrantLock spillLock = new ReentrantLock();
+    // futures of events spilled by this process, keyed by spill id and completed once their replayed record is acknowledged
+    private final Map<String, CompletableFuture<Void>> spilledResults = new ConcurrentHashMap<>();
+    private final String spillPrefix = UUID.randomUUID() + "-";
+    private final AtomicLong spillSequence = new AtomicLong();
+    private volatile long nextReplayNanos;
 
-    public void sendUserEvent(UserEventType eventType, String email, Long userId, String userName) {
-        try {
-            UserEvent event = new UserEvent(
-                    eventType,
-                    email,
-                    userId,
-                    userName,
-                    System.currentTimeMillis()
-            );
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+
+    public UserEventProducer(KafkaTemplate<String, byte[]> kafkaTemplate,
+                             ObjectMapper objectMapper,
+                             UserEventSerializers serializers,
+                             EventPublisherProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.serializers = serializers;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.spilled = outcomeCounter(meterRegistry, "spilled");
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+        meterRegistry.gauge("user.events.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "user-events-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread current = dispatcher;
+        if (current != null) {
+            current.join(properties.getBlockTimeout().toMillis());
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopping with {} unsent user events in the queue", queue.size());
+        }
+    }
 
-            String eventJson = objectMapper.writeValueAsString(event);
+    public CompletableFuture<Void> publish(UserEvent event) {
+        PendingEvent pending = new PendingEvent(event, new CompletableFuture<>(), 0);
 
-            log.info("📤 Sending to Kafka: {}", eventJson);
-            kafkaTemplate.send("user-events", email, eventJson);
-            log.info("✅ Event sent successfully");
+        if (queue.offer(pending)) {
+            return pending.result();
+        }
+
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(pending, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        drop(pending, "Event queue full for " + properties.getBlockTimeout());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(pending, "Interrupted while waiting for event queue");
+                }
+            }
+            case DROP -> drop(pending, "Event queue full");
+            case SPILL -> spill(pending);
+        }
+        return pending.result();
+    }
 
+    public int queuedEvents() {
+        return queue.size();
+    }
+
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent pending = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (pending != null) {
+                    dispatch(pending);
+                } else if (properties.getOverflowPolicy() == EventPublisherProperties.OverflowPolicy.SPILL) {
+                    replaySpilled();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("User event dispatcher error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(PendingEvent pending) {
+        UserEventSerializer serializer = serializers.active();
+        ProducerRecord<String, byte[]> record;
+        try {
+            record = new ProducerRecord<>(TOPIC, null, pending.event().getEmail(),
+                    serializer.serialize(pending.event()), serializers.headersFor(serializer));
         } catch (Exception e) {
-            log.error("❌ Failed to send event: {}", e.getMessage());
+            failed.increment();
+            pending.result().completeExceptionally(e);
+            return;
         }
+
+        long started = System.nanoTime();
+        CompletableFuture<?> send;
+        try {
+            send = kafkaTemplate.send(record);
+        } catch (Exception e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+
+        send.whenComplete((result, error) -> {
+            (error == null ? sendSucceeded : sendFailed).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (error == null) {
+                sent.increment();
+                pending.result().complete(null);
+            } else {
+                onSendFailure(pending, error);
+            }
+        });
+    }
+
+    private void onSendFailure(PendingEvent pending, Throwable error) {
+        if (isRetriable(error) && pending.attempt() < properties.getMaxRetries()) {
+            retried.increment();
+            PendingEvent retry = new PendingEvent(pending.event(), pending.result(), pending.attempt() + 1);
+            CompletableFuture.delayedExecutor(properties.getRetryBackoff().toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        if (!queue.offer(retry)) {
+                            drop(retry, "Event queue full on retry");
+                        }
+                    });
+            return;
+        }
+
+        failed.increment();
+        log.warn("User event {} for user {} failed after {} attempt(s): {}",
+                pending.event().getEventType(), pending.event().getUserId(),
+                pending.attempt() + 1, error.getMessage());
+        pending.result().completeExceptionally(error);
     }
-}
 
+    private boolean isRetriable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drop(PendingEvent pending, String reason) {
+        dropped.increment();
+        pending.result().completeExceptionally(new IllegalStateException(reason));
+    }
+
+    private void spill(PendingEvent pending) {
+        String id = spillPrefix + spillSequence.incrementAndGet();
+        spillLock.lock();
+        try {
+            Files.createDirectories(properties.getSpillDirectory());
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                    properties.getSpillDirectory().resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(new SpilledEvent(id, pending.event())));
+                writer.newLine();
+            }
+            spilledResults.put(id, pending.result());
+            spilled.increment();
+        } catch (IOException e) {
+            log.error("Failed to spill user event to disk: {}", e.getMessage());
+            drop(pending, "Event queue full and spill failed");
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Sends the replay file in chunks, waiting for each chunk's acks before moving the offset past
+     * its leading acknowledged lines. On the first failure replay stops and resumes from the offset
+     * after {@code retry-backoff}; the futures of the unsent events stay pending.
+     */
+    private void replaySpilled() throws IOException {
+        if (System.nanoTime() < nextReplayNanos) {
+            return;
+        }
+        Path spillFile = properties.getSpillDirectory().resolve(SPILL_FILE);
+        Path replayFile = properties.getSpillDirectory().resolve(REPLAY_FILE);
+        Path offsetFile = properties.getSpillDirectory().resolve(REPLAY_OFFSET_FILE);
+
+        if (!Files.exists(replayFile)) {
+            spillLock.lock();
+            try {
+                if (!Files.exists(spillFile)) {
+                    return;
+                }
+                Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(offsetFile);
+            } finally {
+                spillLock.unlock();
+            }
+        }
+
+        long offset = Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        boolean finished = false;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            for (long line = 0; line < offset && reader.readLine() != null; line++) {
+                // already acknowledged
+            }
+            log.info("Replaying spilled user events from line {}", offset);
+
+            List<String> chunk = new ArrayList<>(properties.getReplayBatchSize());
+            while (running) {
+                chunk.clear();
+                String line;
+                while (chunk.size() < properties.getReplayBatchSize() && (line = reader.readLine()) != null) {
+                    chunk.add(line);
+                }
+                if (chunk.isEmpty()) {
+                    finished = true;
+                    break;
+                }
+                int acknowledged = replayChunk(chunk);
+                offset += acknowledged;
+                Files.writeString(offsetFile, Long.toString(offset), StandardCharsets.UTF_8);
+                if (acknowledged < chunk.size()) {
+                    nextReplayNanos = System.nanoTime() + properties.getRetryBackoff().toNanos();
+                    log.warn("Replay of spilled user events stopped at line {}", offset);
+                    return;
+                }
+            }
+        }
+        if (finished) {
+            Files.delete(replayFile);
+            Files.deleteIfExists(offsetFile);
+        }
+    }
+
+    /** Returns how many leading lines of {@code chunk} were acknowledged. */
+    private int replayChunk(List<String> chunk) throws IOException {
+        List<SpilledEvent> events = new ArrayList<>(chunk.size());
+        List<CompletableFuture<Void>> sends = new ArrayList<>(chunk.size());
+        for (String line : chunk) {
+            SpilledEvent spilledEvent = objectMapper.readValue(line, SpilledEvent.class);
+            CompletableFuture<Void> send = new CompletableFuture<>();
+            events.add(spilledEvent);
+            sends.add(send);
+            // no in-queue retries: the dispatcher is busy waiting below, a failure is retried by the next replay
+            dispatch(new PendingEvent(spilledEvent.event(), send, properties.getMaxRetries()));
+        }
+
+        long deadline = System.nanoTime() + properties.getReplayAckTimeout().toNanos();
+        int acknowledged = 0;
+        boolean contiguous = true;
+        for (int i = 0; i < sends.size(); i++) {
+            boolean acked = awaitAck(sends.get(i), deadline);
+            if (acked) {
+                String id = events.get(i).id();
+                // lines from an earlier process have a foreign or missing id and no future here
+                CompletableFuture<Void> original = id != null ? spilledResults.remove(id) : null;
+                if (original != null) {
+                    original.complete(null);
+                }
+            }
+            contiguous &= acked;
+            if (contiguous) {
+                acknowledged++;
+            }
+        }
+        return acknowledged;
+    }
+
+    private static boolean awaitAck(CompletableFuture<Void> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("user.events.publish")
+                .description("User events handed to the Kafka publisher, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("user.events.send")
+                .description("Time from handing a record to Kafka until it is acknowledged or fails")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record PendingEvent(UserEvent event, CompletableFuture<Void> result, int attempt) {
+    }
+
+    // ignoreUnknown: lines spilled before ids replaced the numeric sequence still replay
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record SpilledEvent(String id, UserEvent event) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.kafka;
+
+public interface UserEventSerializer {
+
+    String SCHEMA_ID_HEADER = "schema-id";
+    String CONTENT_TYPE_HEADER = "content-type";
+
+    String format();
+
+    int schemaId();
+
+    String contentType();
+
+    byte[] serialize(UserEvent event);
+
+    UserEvent deserialize(byte[] payload);
+}
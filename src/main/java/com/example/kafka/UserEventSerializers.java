@@ -0,0 +1,60 @@
+package com.example.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class UserEventSerializers {
+
+    private final Map<Integer, UserEventSerializer> bySchemaId;
+    private final UserEventSerializer active;
+
+    public UserEventSerializers(List<UserEventSerializer> serializers,
+                                @Value("${app.events.format:json}") String format) {
+        this.bySchemaId = serializers.stream()
+                .collect(Collectors.toMap(UserEventSerializer::schemaId, Function.identity()));
+        this.active = serializers.stream()
+                .filter(serializer -> serializer.format().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown user event format: " + format));
+    }
+
+    public UserEventSerializer active() {
+        return active;
+    }
+
+    public Headers headersFor(UserEventSerializer serializer) {
+        return new RecordHeaders(new Header[]{
+                new RecordHeader(UserEventSerializer.SCHEMA_ID_HEADER,
+                        String.valueOf(serializer.schemaId()).getBytes(StandardCharsets.UTF_8)),
+                new RecordHeader(UserEventSerializer.CONTENT_TYPE_HEADER,
+                        serializer.contentType().getBytes(StandardCharsets.UTF_8))
+        });
+    }
+
+    /**
+     * Records without a schema id header were written before it existed and are always JSON.
+     */
+    public UserEvent deserialize(byte[] payload, Headers headers) {
+        Header schemaHeader = headers != null ? headers.lastHeader(UserEventSerializer.SCHEMA_ID_HEADER) : null;
+        int schemaId = schemaHeader != null
+                ? Integer.parseInt(new String(schemaHeader.value(), StandardCharsets.UTF_8))
+                : JsonUserEventSerializer.SCHEMA_ID;
+
+        UserEventSerializer serializer = bySchemaId.get(schemaId);
+        if (serializer == null) {
+            throw new IllegalArgumentException("Unknown user event schema id: " + schemaId);
+        }
+        return serializer.deserialize(payload);
+    }
+}
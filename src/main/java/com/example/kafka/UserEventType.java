@@ -1,7 +1,23 @@
 package com.example.kafka;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum UserEventType {
-    USER_CREATED,
-    USER_DELETED,
-    USER_UPDATED
+    USER_CREATED(1),
+    USER_DELETED(2),
+    USER_UPDATED(3);
+
+    private final int code;
+
+    public static UserEventType fromCode(int code) {
+        for (UserEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.metrics")
+public class MetricsProperties {
+
+    /**
+     * When false, the tags listed in {@link #highCardinalityTagKeys} are dropped from every meter at
+     * registration time, so there is no per-call cost.
+     */
+    private boolean highCardinalityTags = true;
+
+    private List<String> highCardinalityTagKeys = new ArrayList<>(List.of("uri", "exception"));
+
+    private boolean sqlStatementsPerRequest = true;
+
+    /** Adds X-Sql-Statements, X-Sql-Rows and a Server-Timing db entry to every /api response. */
+    private boolean sqlResponseHeaders = false;
+
+    /** Fails requests that go over their handler's {@link SqlBudget} instead of only counting them. */
+    private boolean sqlBudgetEnforced = false;
+}
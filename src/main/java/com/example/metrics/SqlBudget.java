@@ -0,0 +1,20 @@
+package com.example.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one call of the annotated handler may prepare. Requests over budget are counted in
+ * {@code http.server.requests.sql.budget.exceeded}; with {@code app.metrics.sql-budget-enforced} they fail
+ * instead, which is how the integration tests catch N+1 regressions.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int statements();
+}
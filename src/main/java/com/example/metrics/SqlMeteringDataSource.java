@@ -0,0 +1,85 @@
+package com.example.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds the rows read and the time spent executing statements to the current {@link SqlStatementCounter}
+ * scope. Statements prepared outside a scope are handed out unwrapped, so background work pays only for
+ * the connection proxy.
+ */
+public class SqlMeteringDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = SqlMeteringDataSource.class.getClassLoader();
+
+    public SqlMeteringDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return metered(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return metered(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection metered(Connection target) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    SqlStatistics statistics = SqlStatementCounter.current();
+                    if (statistics != null && result instanceof Statement statement) {
+                        return metered(statement, method.getReturnType(), statistics);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object metered(Statement target, Class<?> type, SqlStatistics statistics) {
+        return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result;
+                    if (method.getName().startsWith("execute")) {
+                        long start = System.nanoTime();
+                        try {
+                            result = invoke(target, method, args);
+                        } finally {
+                            statistics.executed(System.nanoTime() - start);
+                        }
+                    } else {
+                        result = invoke(target, method, args);
+                    }
+                    return result instanceof ResultSet resultSet ? metered(resultSet, statistics) : result;
+                });
+    }
+
+    private static ResultSet metered(ResultSet target, SqlStatistics statistics) {
+        return (ResultSet) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        statistics.rowFetched();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
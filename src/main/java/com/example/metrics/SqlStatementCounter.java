@@ -0,0 +1,38 @@
+package com.example.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and
+ * {@link #end()}. Outside such a scope, e.g. on the outbox relay thread, statements are not counted.
+ * Rows and execution time for the same scope are added by {@link SqlMeteringDataSource}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStatistics end() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics != null ? statistics : new SqlStatistics();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many SQL statements each request issued as {@code http.server.requests.sql.statements},
+ * together with the rows it read and the time spent executing them, tagged like
+ * {@code http.server.requests} so N+1 regressions show up per endpoint. Handlers may declare a
+ * {@link SqlBudget}; it is only checked for requests that start outside a transaction, since inside a
+ * test-managed one statements are flushed by whichever request happens to come next.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "http.server.requests.sql.statements";
+    public static final String ROWS_METRIC = "http.server.requests.sql.rows";
+    public static final String TIME_METRIC = "http.server.requests.sql.time";
+    public static final String BUDGET_EXCEEDED_METRIC = "http.server.requests.sql.budget.exceeded";
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final boolean budgetEnforced;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean budgeted = !TransactionSynchronizationManager.isActualTransactionActive();
+        SqlStatistics statistics = SqlStatementCounter.begin();
+        HttpServletResponse target = responseHeaders ? new SqlHeaderResponse(response, statistics) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatementCounter.end();
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, statistics);
+            }
+            record(request, response, statistics);
+        }
+        if (budgeted) {
+            checkBudget(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "status", Integer.toString(response.getStatus()));
+
+        DistributionSummary.builder(METRIC)
+                .description("SQL statements prepared per HTTP request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder(ROWS_METRIC)
+                .description("Result set rows read per HTTP request")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing SQL statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatistics statistics) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        if (budget == null || statistics.getStatements() <= budget.statements()) {
+            return;
+        }
+
+        String message = handler.getShortLogMessage() + " prepared " + statistics.getStatements()
+                + " SQL statements, budget is " + budget.statements();
+        Counter.builder(BUDGET_EXCEEDED_METRIC)
+                .description("Requests that prepared more SQL statements than their handler's budget")
+                .tag("handler", handler.getMethod().getName())
+                .register(meterRegistry)
+                .increment();
+        if (budgetEnforced) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatistics statistics) {
+        response.setHeader(STATEMENTS_HEADER, Long.toString(statistics.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+        response.setHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f", statistics.getMillis()));
+    }
+
+    /**
+     * Writes the headers just before the body is opened, i.e. once the handler has run its queries and
+     * while the response can still take headers.
+     */
+    private static final class SqlHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+
+        SqlHeaderResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            beforeBody();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            beforeBody();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeBody();
+            super.flushBuffer();
+        }
+
+        private void beforeBody() {
+            if (!written && !isCommitted()) {
+                written = true;
+                writeHeaders((HttpServletResponse) getResponse(), statistics);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL work done on one thread within a {@link SqlStatementCounter} scope. Not thread-safe: a scope
+ * belongs to the request thread that opened it.
+ */
+public final class SqlStatistics {
+
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    void executed(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+}
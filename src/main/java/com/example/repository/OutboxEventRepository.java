@@ -0,0 +1,24 @@
+package com.example.repository;
+
+import com.example.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** {@code jakarta.persistence.lock.timeout} value Hibernate renders as {@code SKIP LOCKED}. */
+    String SKIP_LOCKED = "-2";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("select e from OutboxEvent e where e.deadLetteredAt is null and e.nextAttemptAt <= :now order by e.id")
+    List<OutboxEvent> findClaimable(@Param("now") long now, Limit limit);
+}
@@ -1,10 +1,70 @@
 package com.example.repository;
 
 import com.example.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    String VIEW_SELECT = "select new com.example.repository.UserView(u.id, u.name, u.email, u.age, u.createdAt, u.version) "
+            + "from User u";
 
-public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // single lookups run outside a service transaction so that coalesced waiters hold no connection
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + " where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + " where u.email = :email")
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " where u.id in :ids")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Transactional(readOnly = true)
+    @Query(VIEW_SELECT + " where u.email in :emails")
+    List<UserView> findViewsByEmailIn(@Param("emails") Collection<String> emails);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(VIEW_SELECT + " where u.id > :id order by u.id")
+    List<UserView> findViewsByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(VIEW_SELECT + " order by u.id")
+    Stream<UserView> streamAllViewsOrderedById();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
 }
@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import com.example.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Keyset page of users matching {@code filter} with an id above {@code afterId}, read as projections.
+     */
+    List<UserView> findViews(Specification<User> filter, long afterId, int limit);
+
+    /**
+     * Sets the non-null fields and bumps the version with a single
+     * {@code UPDATE users SET ..., version = version + 1 WHERE id = ? AND version = ?}.
+     *
+     * @return the number of rows updated, 0 if the user is gone or its version moved on
+     */
+    int updateChangedFields(Long id, long expectedVersion, String name, String email, Integer age);
+}
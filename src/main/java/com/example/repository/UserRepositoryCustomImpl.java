@@ -0,0 +1,70 @@
+package com.example.repository;
+
+import com.example.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UserView> findViews(Specification<User> filter, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserView> query = cb.createQuery(UserView.class);
+        Root<User> user = query.from(User.class);
+
+        query.select(cb.construct(UserView.class, user.get("id"), user.get("name"), user.get("email"),
+                user.get("age"), user.get("createdAt"), user.get("version")));
+        Predicate keyset = cb.greaterThan(user.get("id"), afterId);
+        Predicate predicate = filter.toPredicate(user, query, cb);
+        query.where(predicate != null ? cb.and(predicate, keyset) : keyset);
+        query.orderBy(cb.asc(user.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Bypasses the persistence context, so a managed copy of the user, if any, is detached afterwards
+     * instead of being left with the old field values and version.
+     */
+    @Override
+    @Transactional
+    public int updateChangedFields(Long id, long expectedVersion, String name, String email, Integer age) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+        Path<Long> version = user.get("version");
+
+        if (name != null) {
+            update.set(user.<String>get("name"), name);
+        }
+        if (email != null) {
+            update.set(user.<String>get("email"), email);
+        }
+        if (age != null) {
+            update.set(user.<Integer>get("age"), age);
+        }
+        update.set(version, cb.sum(version, 1L));
+        update.where(cb.equal(user.get("id"), id), cb.equal(version, expectedVersion));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.detach(entityManager.getReference(User.class, id));
+        return updated;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.repository;
+
+import com.example.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Search predicates over {@link User}. Each one is written so PostgreSQL can serve it from an index:
+ * the trigram indexes on {@code lower(name)} and {@code email}, and the btree indexes on {@code age} and
+ * {@code created_at} (see V6__users_search_indexes.sql). Arguments are expected to be normalized already.
+ */
+public final class UserSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> nameStartsWith(String lowerCasePrefix) {
+        return (user, query, cb) -> cb.like(cb.lower(user.get("name")), escapeLike(lowerCasePrefix) + "%", ESCAPE);
+    }
+
+    public static Specification<User> emailDomain(String domain) {
+        return (user, query, cb) -> cb.like(user.get("email"), "%@" + escapeLike(domain), ESCAPE);
+    }
+
+    public static Specification<User> ageAtLeast(int age) {
+        return (user, query, cb) -> cb.greaterThanOrEqualTo(user.get("age"), age);
+    }
+
+    public static Specification<User> ageAtMost(int age) {
+        return (user, query, cb) -> cb.lessThanOrEqualTo(user.get("age"), age);
+    }
+
+    public static Specification<User> createdFrom(LocalDateTime from) {
+        return (user, query, cb) -> cb.greaterThanOrEqualTo(user.get("createdAt"), from);
+    }
+
+    public static Specification<User> createdBefore(LocalDateTime to) {
+        return (user, query, cb) -> cb.lessThan(user.get("createdAt"), to);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of {@link com.example.entity.User} for lookup and list queries. Rows are not
+ * managed by the persistence context, so no entity snapshot is kept for dirty checking.
+ */
+public record UserView(Long id, String name, String email, Integer age, LocalDateTime createdAt,
+                       Long version) {
+}
@@ -1,32 +1,98 @@
 package com.example.service;
 
+import com.example.cache.EmailIndex;
+import com.example.cache.UserCache;
+import com.example.datasource.BulkReadSession;
+import com.example.datasource.ReadYourWrites;
+import com.example.dto.UserBatchItemResult;
+import com.example.dto.UserBatchResponse;
+import com.example.dto.UserLookupItemResult;
+import com.example.dto.UserLookupRequest;
+import com.example.dto.UserLookupResponse;
+import com.example.dto.UserPage;
 import com.example.dto.UserRequest;
 import com.example.dto.UserResponse;
+import com.example.dto.UserSearchRequest;
 import com.example.dto.UserUpdateRequest;
 import com.example.entity.User;
+import com.example.exception.ConstraintViolations;
 import com.example.exception.UserAlreadyExistsException;
 import com.example.exception.UserNotFoundException;
-import com.example.kafka.UserEventProducer;
+import com.example.exception.UserVersionConflictException;
+import com.example.kafka.UserEventOutbox;
 import com.example.kafka.UserEventType;
 import com.example.repository.UserRepository;
+import com.example.repository.UserSpecifications;
+import com.example.repository.UserView;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "users.service", description = "UserService operations, tagged by method and exception")
 public class UserService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MIN_SEARCH_TERM_LENGTH = 3;
+    public static final int MAX_LOOKUP_SIZE = 1000;
+    /** Widest created-at window that still counts as a selective search filter on its own. */
+    public static final int MAX_SEARCH_CREATED_DAYS = 31;
+    /** Widest closed age range, in years, that still counts as a selective search filter on its own. */
+    public static final int MAX_SEARCH_AGE_SPAN = 10;
+
+    private static final int INSERT_CHUNK_SIZE = 500;
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final UserEventProducer userEventProducer;
+    private final UserEventOutbox userEventOutbox;
+    private final EntityManager entityManager;
+    private final UserCache userCache;
+    private final EmailIndex emailIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ReadYourWrites readYourWrites;
+    private final BulkReadSession bulkReadSession;
 
-    @Transactional
+    /**
+     * Duplicates known to the {@link EmailIndex} are rejected before a write transaction is opened;
+     * the unique constraint still decides for everything the index has not seen.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse createUser(UserRequest request) {
 
         String email = request.getEmail() != null ?
@@ -34,85 +100,347 @@ public class UserService {
         String name = request.getName() != null ?
                 request.getName().trim() : "";
 
+        rejectKnownDuplicate(email);
+
         User user = User.builder()
                     .name(name)
                     .email(email)
                     .age(request.getAge())
                     .build();
 
+        return transactionTemplate.execute(status -> {
             try {
-                User savedUser = userRepository.save(user);
+                User savedUser = userRepository.saveAndFlush(user);
 
-                userEventProducer.sendUserEvent(
-                        UserEventType.USER_CREATED,
-                        savedUser.getEmail(),
-                        savedUser.getId(),
-                        savedUser.getName()
-                );
+                userEventOutbox.enqueue(UserEventType.USER_CREATED, savedUser);
+                emailIndex.added(email);
+                readYourWrites.written(savedUser.getId(), email);
 
                 log.info("Created user with id: {}, email: {}", savedUser.getId(), savedUser.getEmail());
                 return mapToResponse(savedUser);
 
             } catch (DataIntegrityViolationException e) {
-                log.error("Data integrity violation for email {}: {}", email, e.getMessage(), e);
-                throw new UserAlreadyExistsException("Email already exists: " + email);
+                if (!ConstraintViolations.isEmailTaken(e)) {
+                    throw e;
+                }
+                throw new UserAlreadyExistsException("Email already exists: " + email, e);
             } catch (Exception e) {
                 log.error("Unexpected error creating user with email {}: {}", email, e.getMessage(), e);
                 throw e;
             }
+        });
     }
 
-    public UserResponse getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(this::mapToResponse)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    /**
+     * Inserts the valid, non-duplicate items in chunks of {@value #INSERT_CHUNK_SIZE}, each in its own
+     * transaction. An email taken concurrently after the pre-check only costs its chunk a retry row by row.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserBatchResponse createUsers(List<UserRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one user");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must not exceed " + MAX_BATCH_SIZE);
+        }
+
+        UserBatchItemResult[] results = new UserBatchItemResult[requests.size()];
+        Map<String, Integer> indexesByEmail = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            UserRequest request = requests.get(i);
+            Set<ConstraintViolation<UserRequest>> violations = request != null
+                    ? validator.validate(request) : Set.of();
+
+            if (request == null || !violations.isEmpty()) {
+                Map<String, String> details = new LinkedHashMap<>();
+                violations.forEach(v -> details.put(v.getPropertyPath().toString(), v.getMessage()));
+                results[i] = UserBatchItemResult.failed(i, HttpStatus.BAD_REQUEST, "Validation failed", details);
+                continue;
+            }
+
+            String email = request.getEmail().trim().toLowerCase();
+            if (indexesByEmail.putIfAbsent(email, i) != null) {
+                results[i] = UserBatchItemResult.failed(i, HttpStatus.CONFLICT,
+                        "Duplicate email in batch: " + email);
+            }
+        }
+
+        Set<String> existingEmails = indexesByEmail.isEmpty()
+                ? Set.of() : new HashSet<>(userRepository.findExistingEmails(indexesByEmail.keySet()));
+
+        List<Integer> pendingIndexes = new ArrayList<>(indexesByEmail.size());
+
+        indexesByEmail.forEach((email, index) -> {
+            if (existingEmails.contains(email)) {
+                results[index] = UserBatchItemResult.failed(index, HttpStatus.CONFLICT,
+                        "Email already exists: " + email);
+                return;
+            }
+            pendingIndexes.add(index);
+        });
+
+        int created = 0;
+        for (int from = 0; from < pendingIndexes.size(); from += INSERT_CHUNK_SIZE) {
+            List<Integer> chunk = pendingIndexes.subList(from,
+                    Math.min(from + INSERT_CHUNK_SIZE, pendingIndexes.size()));
+            try {
+                List<User> saved = transactionTemplate.execute(status -> insertChunk(newUsers(requests, chunk)));
+                for (int i = 0; i < saved.size(); i++) {
+                    results[chunk.get(i)] = UserBatchItemResult.created(chunk.get(i), mapToResponse(saved.get(i)));
+                }
+                created += saved.size();
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.isEmailTaken(e)) {
+                    throw e;
+                }
+                // an email was taken after findExistingEmails: retry the chunk row by row, each in its own
+                // transaction, so only the conflicting items fail instead of the whole batch
+                created += insertEachOrReportConflict(requests, chunk, results);
+            }
+        }
+
+        log.info("Batch created {} of {} users", created, requests.size());
+
+        return UserBatchResponse.builder()
+                .created(created)
+                .failed(requests.size() - created)
+                .results(Arrays.asList(results))
+                .build();
     }
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToResponse)
+    private List<User> insertChunk(List<User> users) {
+        List<User> saved = userRepository.saveAll(users);
+        userEventOutbox.enqueueAll(UserEventType.USER_CREATED, saved);
+        userRepository.flush();
+        saved.forEach(user -> {
+            emailIndex.added(user.getEmail());
+            readYourWrites.written(user.getId(), user.getEmail());
+        });
+        entityManager.clear();
+        return saved;
+    }
+
+    private int insertEachOrReportConflict(List<UserRequest> requests, List<Integer> indexes,
+                                           UserBatchItemResult[] results) {
+        int created = 0;
+        for (int index : indexes) {
+            User user = newUsers(requests, List.of(index)).get(0);
+            try {
+                User saved = transactionTemplate.execute(status -> insertChunk(List.of(user)).get(0));
+                results[index] = UserBatchItemResult.created(index, mapToResponse(saved));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.isEmailTaken(e)) {
+                    throw e;
+                }
+                results[index] = UserBatchItemResult.failed(index, HttpStatus.CONFLICT,
+                        "Email already exists: " + user.getEmail());
+            }
+        }
+        return created;
+    }
+
+    private static List<User> newUsers(List<UserRequest> requests, List<Integer> indexes) {
+        return indexes.stream()
+                .map(requests::get)
+                .map(request -> User.builder()
+                        .name(request.getName().trim())
+                        .email(request.getEmail().trim().toLowerCase())
+                        .age(request.getAge())
+                        .build())
                 .toList();
     }
 
+    /**
+     * Concurrent misses for the same id share one query (see {@link UserCache#loadById}). No transaction
+     * is opened here, so callers waiting for that query do not hold a connection; the repository call
+     * runs in its own read-only one.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserResponse getUserById(Long id) {
+        return userCache.getById(id).orElseGet(() -> userCache.loadById(id, () -> readYourWrites.read(id, () ->
+                userRepository.findViewById(id)
+                        .map(UserService::mapToResponse)
+                        .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id)))));
+    }
+
+    public UserPage getUsers(String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long afterId = after != null && !after.isBlank() ? UserCursor.decode(after) : 0L;
+
+        List<UserView> rows = userRepository.findViewsByIdGreaterThan(afterId, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserView> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? UserCursor.encode(pageRows.get(pageSize - 1).id()) : null;
+
+        return new UserPage(pageRows.stream().map(UserService::mapToResponse).toList(), nextCursor);
+    }
+
+    /**
+     * Keyset-paginated search over the combined filters. Searches that no index can narrow down are
+     * rejected: see {@link #searchSpecification}.
+     */
+    public UserPage searchUsers(UserSearchRequest search, String after, Integer limit) {
+        Specification<User> filter = searchSpecification(search);
+        int pageSize = resolvePageSize(limit);
+        long afterId = after != null && !after.isBlank() ? UserCursor.decode(after) : 0L;
+
+        List<UserView> rows = userRepository.findViews(filter, afterId, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserView> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? UserCursor.encode(pageRows.get(pageSize - 1).id()) : null;
+
+        return new UserPage(pageRows.stream().map(UserService::mapToResponse).toList(), nextCursor);
+    }
+
+    /**
+     * Resolves up to {@value #MAX_LOOKUP_SIZE} ids and emails at once: cache hits first, then the misses with
+     * {@code IN} queries of at most {@value #LOOKUP_CHUNK_SIZE} keys. Results keep the request order, ids
+     * before emails, and carry a 404 status for keys that match no user. Like {@link #getUserById} it opens
+     * no transaction itself, so each chunk query is routed on its own and chunks holding recently written keys
+     * are read from the primary (see {@link ReadYourWrites}) instead of caching a lagging replica row.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserLookupResponse lookupUsers(UserLookupRequest request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        List<String> emails = request.getEmails() != null
+                ? request.getEmails().stream().map(email -> email.trim().toLowerCase()).toList()
+                : List.of();
+        if (ids.isEmpty() && emails.isEmpty()) {
+            throw new IllegalArgumentException("Lookup must contain at least one id or email");
+        }
+        if (ids.size() + emails.size() > MAX_LOOKUP_SIZE) {
+            throw new IllegalArgumentException("Lookup size must not exceed " + MAX_LOOKUP_SIZE);
+        }
+
+        Map<Long, UserResponse> usersById = resolve(ids, userCache::getById,
+                userRepository::findViewsByIdIn, UserResponse::getId);
+        Map<String, UserResponse> usersByEmail = resolve(emails, userCache::getByEmail,
+                userRepository::findViewsByEmailIn, UserResponse::getEmail);
+
+        List<UserLookupItemResult> results = new ArrayList<>(ids.size() + emails.size());
+        ids.forEach(id -> results.add(UserLookupItemResult.byId(id, usersById.get(id))));
+        emails.forEach(email -> results.add(UserLookupItemResult.byEmail(email, usersByEmail.get(email))));
+
+        int found = (int) results.stream().filter(result -> result.getUser() != null).count();
+        return UserLookupResponse.builder()
+                .found(found)
+                .notFound(results.size() - found)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Streams every user to {@code sink} in one read-only transaction that stays open while a slow client
+     * drains the response, so it runs under the bulk-read timeouts instead of the request-path ones.
+     */
+    @Transactional(readOnly = true, timeoutString = BulkReadSession.TIMEOUT)
+    public long exportUsers(Consumer<UserResponse> sink) {
+        bulkReadSession.begin();
+        long exported = 0;
+
+        try (Stream<UserView> users = userRepository.streamAllViewsOrderedById()) {
+            Iterator<UserView> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(mapToResponse(iterator.next()));
+                exported++;
+            }
+        }
+
+        log.info("Exported {} users", exported);
+        return exported;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public UserResponse getUserByEmail(String email) {
-        return userRepository.findByEmail(email.trim().toLowerCase())
-                .map(this::mapToResponse)
-                .orElseThrow(() -> new UserNotFoundException(
-                        "User not found with email: " + email));
+        String normalizedEmail = email.trim().toLowerCase();
+
+        return userCache.getByEmail(normalizedEmail).orElseGet(() -> userCache.loadByEmail(normalizedEmail, () ->
+                readYourWrites.read(normalizedEmail, () -> userRepository.findViewByEmail(normalizedEmail)
+                        .map(UserService::mapToResponse)
+                        .orElseThrow(() -> new UserNotFoundException(
+                                "User not found with email: " + email)))));
     }
 
     @Transactional
     public UserResponse updateUser(Long id, UserUpdateRequest request) {
-        User user = userRepository.findById(id)
+        return updateUser(id, request, null);
+    }
+
+    /**
+     * Reads the current row as a projection and writes only the fields that differ, with one conditional
+     * {@code UPDATE ... WHERE id = ? AND version = ?}. {@code expectedVersion} comes from If-Match; without
+     * it the version just read is used, so a concurrent writer is still never overwritten silently.
+     */
+    @Transactional
+    public UserResponse updateUser(Long id, UserUpdateRequest request, Long expectedVersion) {
+        UserView current = userRepository.findViewById(id)
                 .orElseThrow(() -> new UserNotFoundException(
                         "User not found with id: " + id)
                 );
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            throw UserVersionConflictException.preconditionFailed(id);
+        }
 
+        String name = null;
         if (request.getName() != null && !request.getName().isBlank()) {
-            user.setName(request.getName().trim());
+            name = changed(request.getName().trim(), current.name());
         }
 
+        String email = null;
         if (request.getEmail() != null && !request.getEmail().isBlank()) {
-            String newEmail = request.getEmail().trim().toLowerCase();
-            user.setEmail(newEmail);
+            email = changed(request.getEmail().trim().toLowerCase(), current.email());
         }
 
+        Integer age = null;
         if (request.getAge() != null) {
             if (request.getAge() < 0 || request.getAge() > 120) {
                 throw new IllegalArgumentException("Age must be between 0 and 120");
             }
-            user.setAge(request.getAge());
+            age = changed(request.getAge(), current.age());
+        }
+
+        if (name == null && email == null && age == null) {
+            return mapToResponse(current);
         }
 
+        int updated;
         try {
-            User updatedUser = userRepository.save(user);
-            log.info("Updated user with id: {}", id);
-            return mapToResponse(updatedUser);
+            updated = userRepository.updateChangedFields(id, current.version(), name, email, age);
         } catch (DataIntegrityViolationException e) {
-            log.error("Data integrity violation during update for user id {}: {}",
-                    id, e.getMessage(), e);
-            throw new UserAlreadyExistsException("Email already exists");
+            if (!ConstraintViolations.isEmailTaken(e)) {
+                throw e;
+            }
+            throw new UserAlreadyExistsException("Email already exists", e);
+        }
+        if (updated == 0) {
+            throw expectedVersion != null
+                    ? UserVersionConflictException.preconditionFailed(id)
+                    : UserVersionConflictException.concurrentUpdate(id);
         }
+
+        userCache.invalidate(id, current.email(), email);
+        readYourWrites.written(id, current.email(), email);
+        if (email != null) {
+            emailIndex.removed(current.email());
+            emailIndex.added(email);
+        }
+
+        User user = User.builder()
+                .id(id)
+                .name(name != null ? name : current.name())
+                .email(email != null ? email : current.email())
+                .age(age != null ? age : current.age())
+                .createdAt(current.createdAt())
+                .version(current.version() + 1)
+                .build();
+        userEventOutbox.enqueue(UserEventType.USER_UPDATED, user, email != null ? current.email() : null);
+
+        log.info("Updated user with id: {}", id);
+        return mapToResponse(user);
     }
 
     @Transactional
@@ -121,24 +449,182 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
         userRepository.delete(user);
+        userCache.invalidate(id, user.getEmail());
+        emailIndex.removed(user.getEmail());
+        readYourWrites.written(id, user.getEmail());
 
-        userEventProducer.sendUserEvent(
-                UserEventType.USER_DELETED,
-                user.getEmail(),
-                user.getId(),
-                user.getName()
-        );
+        userEventOutbox.enqueue(UserEventType.USER_DELETED, user);
 
         log.info("Deleted user with id: {}, email: {}", id, user.getEmail());
     }
 
-    private UserResponse mapToResponse(User user) {
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, timeoutString = BulkReadSession.TIMEOUT)
+    public void warmUpEmailIndex() {
+        if (!emailIndex.isEnabled()) {
+            return;
+        }
+        bulkReadSession.begin();
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emailIndex.warmUp(emails.iterator());
+        }
+    }
+
+    private <K> Map<K, UserResponse> resolve(List<K> keys, Function<K, Optional<UserResponse>> cached,
+                                             Function<Collection<K>, List<UserView>> query,
+                                             Function<UserResponse, K> keyOf) {
+        Map<K, UserResponse> users = new HashMap<>();
+        List<K> misses = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            cached.apply(key).ifPresentOrElse(user -> users.put(key, user), () -> misses.add(key));
+        }
+
+        // recent keys first, so they share as few chunks as possible; a chunk holding any of them is read
+        // from the primary, and the lookup never needs more than ceil(misses / LOOKUP_CHUNK_SIZE) queries
+        List<K> recent = new ArrayList<>();
+        List<K> routed = new ArrayList<>();
+        for (K key : misses) {
+            (readYourWrites.isRecent(key) ? recent : routed).add(key);
+        }
+        List<K> ordered = new ArrayList<>(recent);
+        ordered.addAll(routed);
+
+        long loadToken = userCache.loadToken();
+        for (int from = 0; from < ordered.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<K> chunk = ordered.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ordered.size()));
+            List<UserView> views = from < recent.size()
+                    ? readYourWrites.readFromPrimary(() -> query.apply(chunk))
+                    : query.apply(chunk);
+            for (UserView view : views) {
+                UserResponse user = mapToResponse(view);
+                userCache.put(loadToken, user);
+                users.put(keyOf.apply(user), user);
+            }
+        }
+        return users;
+    }
+
+    private void rejectKnownDuplicate(String email) {
+        boolean duplicate = switch (emailIndex.lookup(email)) {
+            case RECENT -> {
+                // another instance may have deleted or renamed the user since, and its event may not be here yet
+                boolean exists = userRepository.existsByEmail(email);
+                if (!exists) {
+                    emailIndex.forget(email);
+                }
+                yield exists;
+            }
+            case MAYBE -> {
+                boolean exists = userRepository.existsByEmail(email);
+                emailIndex.recordProbe(exists);
+                yield exists;
+            }
+            case ABSENT -> false;
+        };
+        if (duplicate) {
+            log.debug("Email {} rejected by the email index before insert", email);
+            throw new UserAlreadyExistsException("Email already exists: " + email);
+        }
+    }
+
+    /**
+     * Requires at least one filter an index can use selectively: a name prefix or email domain of
+     * {@value #MIN_SEARCH_TERM_LENGTH}+ characters (shorter terms yield no trigrams), a created-at window of
+     * at most {@value #MAX_SEARCH_CREATED_DAYS} days (an open end runs to now), or an age range closed on both
+     * ends and at most {@value #MAX_SEARCH_AGE_SPAN} years wide. Wider ranges such as {@code createdFrom=1970}
+     * or {@code minAge=0&maxAge=120} match most of the table and are only accepted next to one of those.
+     */
+    private static Specification<User> searchSpecification(UserSearchRequest search) {
+        List<Specification<User>> filters = new ArrayList<>();
+        boolean selective = false;
+
+        if (search.getName() != null && !search.getName().isBlank()) {
+            String prefix = search.getName().trim().toLowerCase();
+            requireSearchTerm("Name prefix", prefix);
+            filters.add(UserSpecifications.nameStartsWith(prefix));
+            selective = true;
+        }
+        if (search.getEmailDomain() != null && !search.getEmailDomain().isBlank()) {
+            String domain = search.getEmailDomain().trim().toLowerCase();
+            domain = domain.startsWith("@") ? domain.substring(1) : domain;
+            requireSearchTerm("Email domain", domain);
+            filters.add(UserSpecifications.emailDomain(domain));
+            selective = true;
+        }
+        if (search.getCreatedFrom() != null && search.getCreatedTo() != null
+                && !search.getCreatedFrom().isBefore(search.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        if (search.getCreatedFrom() != null) {
+            filters.add(UserSpecifications.createdFrom(search.getCreatedFrom()));
+            // an open upper bound runs to now; an open lower bound reaches back to the first user
+            LocalDateTime createdTo = search.getCreatedTo() != null ? search.getCreatedTo() : LocalDateTime.now();
+            selective |= !search.getCreatedFrom().plusDays(MAX_SEARCH_CREATED_DAYS).isBefore(createdTo);
+        }
+        if (search.getCreatedTo() != null) {
+            filters.add(UserSpecifications.createdBefore(search.getCreatedTo()));
+        }
+        if (search.getMinAge() != null && search.getMaxAge() != null) {
+            if (search.getMinAge() > search.getMaxAge()) {
+                throw new IllegalArgumentException("minAge must not exceed maxAge");
+            }
+            selective |= search.getMaxAge() - search.getMinAge() <= MAX_SEARCH_AGE_SPAN;
+        }
+        if (search.getMinAge() != null) {
+            filters.add(UserSpecifications.ageAtLeast(search.getMinAge()));
+        }
+        if (search.getMaxAge() != null) {
+            filters.add(UserSpecifications.ageAtMost(search.getMaxAge()));
+        }
+
+        if (!selective) {
+            throw new IllegalArgumentException("Search needs a name prefix, email domain, created-at window of at "
+                    + "most " + MAX_SEARCH_CREATED_DAYS + " days or age range of at most " + MAX_SEARCH_AGE_SPAN
+                    + " years; use GET /api/users to page through all users");
+        }
+        return Specification.allOf(filters);
+    }
+
+    private static void requireSearchTerm(String label, String term) {
+        if (term.length() < MIN_SEARCH_TERM_LENGTH) {
+            throw new IllegalArgumentException(
+                    label + " must be at least " + MIN_SEARCH_TERM_LENGTH + " characters");
+        }
+    }
+
+    private static <T> T changed(T requested, T current) {
+        return requested.equals(current) ? null : requested;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    static UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
                 .age(user.getAge())
                 .createdAt(user.getCreatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    static UserResponse mapToResponse(UserView view) {
+        return UserResponse.builder()
+                .id(view.id())
+                .name(view.name())
+                .email(view.email())
+                .age(view.age())
+                .createdAt(view.createdAt())
+                .version(view.version())
                 .build();
     }
 }
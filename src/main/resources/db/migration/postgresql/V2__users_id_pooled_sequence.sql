@@ -0,0 +1,17 @@
+-- Move users.id from IDENTITY to a sequence consumed by Hibernate's pooled optimizer.
+-- With the pooled optimizer every nextval() is the upper bound of a block of
+-- ${user_id_allocation_size} ids, so the first value handed out must be at least
+-- max(id) + allocation size to keep new blocks clear of existing rows.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+DO $$
+DECLARE
+    first_hi BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) + ${user_id_allocation_size} INTO first_hi FROM users;
+    EXECUTE format('CREATE SEQUENCE users_id_seq START WITH %s INCREMENT BY %s',
+                   first_hi, ${user_id_allocation_size});
+END $$;
@@ -0,0 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS user_event_outbox_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS user_event_outbox (
+    id          BIGINT PRIMARY KEY,
+    event_type  VARCHAR(32)  NOT NULL,
+    user_id     BIGINT       NOT NULL,
+    email       VARCHAR(100) NOT NULL,
+    user_name   VARCHAR(100),
+    occurred_at BIGINT       NOT NULL,
+    attempts    INTEGER      NOT NULL DEFAULT 0,
+    last_error  VARCHAR(500)
+);
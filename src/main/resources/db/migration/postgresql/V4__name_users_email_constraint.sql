@@ -0,0 +1,23 @@
+-- Give the email unique constraint a stable name so violations can be classified without parsing messages.
+-- The generated name (users_email_key by default) is looked up rather than assumed: it differs when the
+-- table was created by hand or the default was truncated, and the rename must stay a no-op on re-runs.
+DO $$
+DECLARE
+    current_name TEXT;
+BEGIN
+    SELECT c.conname INTO current_name
+    FROM pg_constraint c
+    JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+    WHERE c.conrelid = 'users'::regclass
+      AND c.contype = 'u'
+      AND array_length(c.conkey, 1) = 1
+      AND a.attname = 'email'
+    LIMIT 1;
+
+    IF current_name IS NULL THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    ELSIF current_name <> 'uk_users_email' THEN
+        EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO uk_users_email', current_name);
+    END IF;
+END
+$$;
@@ -0,0 +1,2 @@
+-- Optimistic locking for updates: every UPDATE checks and increments the row version.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Indexes behind GET /api/users/search (see UserSpecifications).
+-- Built CONCURRENTLY so writes to users are not blocked, which cannot run inside a transaction: the script is
+-- marked executeInTransaction=false in V6__users_search_indexes.sql.conf. A failed concurrent build leaves an
+-- INVALID index that IF NOT EXISTS would skip; drop it before re-running the migration.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_age ON users (age);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at ON users (created_at);
+
+-- Trigram indexes serve LIKE with bound parameters, where a text_pattern_ops btree would depend on plan caching:
+-- lower(name) LIKE 'prefix%' and email LIKE '%@domain'.
+-- pg_trgm is a trusted extension from PostgreSQL 13 on, so the migration role needs the CREATE privilege on the
+-- database; on older servers, or where that is not granted, a superuser has to run CREATE EXTENSION pg_trgm first.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm ON users USING gin (email gin_trgm_ops);
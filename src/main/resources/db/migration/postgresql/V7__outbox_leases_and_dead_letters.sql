@@ -0,0 +1,7 @@
+-- Rows are leased by pushing next_attempt_at past the send timeout, published outside the claiming
+-- transaction, then deleted or rescheduled with backoff; rows out of attempts are kept as dead letters.
+ALTER TABLE user_event_outbox ADD COLUMN next_attempt_at BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_event_outbox ADD COLUMN dead_lettered_at BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_user_event_outbox_claimable
+    ON user_event_outbox (next_attempt_at, id) WHERE dead_lettered_at IS NULL;
@@ -0,0 +1,2 @@
+-- USER_UPDATED events carry the email the user had before the update, so consumers can forget it.
+ALTER TABLE user_event_outbox ADD COLUMN previous_email VARCHAR(100);
@@ -0,0 +1,30 @@
+package benchmark.identity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The pre-sequence IDENTITY mapping of users, kept as a baseline for {@code UserInsertBenchmarkTest}. It lives
+ * outside {@code com.example} so the application's entity scan never maps it; only the benchmark registers it.
+ */
+@Entity
+@Table(name = "benchmark_identity_users")
+@Getter
+@Setter
+@NoArgsConstructor
+public class LegacyIdentityUser {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String email;
+
+    private Integer age;
+}
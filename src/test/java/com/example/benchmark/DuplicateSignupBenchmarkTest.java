@@ -0,0 +1,97 @@
+package com.example.benchmark;
+
+import com.example.UserManagementApplication;
+import com.example.dto.UserRequest;
+import com.example.exception.UserAlreadyExistsException;
+import com.example.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Signup storm where every request repeats an existing email: rejected by the unique constraint
+ * (index disabled) versus rejected by the email index before a transaction is opened.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class DuplicateSignupBenchmarkTest {
+
+    private static final int USERS = 2_000;
+    private static final int WARMUP_ATTEMPTS = 5_000;
+    private static final int ATTEMPTS = 20_000;
+
+    @Test
+    void duplicateRejection_ConstraintVersusEmailIndex() {
+        Result constraint = run("constraint", false);
+        Result index = run("email-index", true);
+
+        log.info("{}", constraint);
+        log.info("{}", index);
+
+        assertThat(constraint.rejected()).isEqualTo(ATTEMPTS);
+        assertThat(index.rejected()).isEqualTo(ATTEMPTS);
+    }
+
+    private Result run(String mode, boolean indexEnabled) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserManagementApplication.class)
+                .profiles("test")
+                .properties("spring.main.web-application-type=none",
+                        "logging.level.root=WARN", "logging.level.com.example=ERROR")
+                .run("--app.email-index.enabled=" + indexEnabled)) {
+
+            UserService userService = context.getBean(UserService.class);
+            List<UserRequest> existing = seed(userService);
+
+            attempt(userService, existing, WARMUP_ATTEMPTS);
+            long start = System.nanoTime();
+            int rejected = attempt(userService, existing, ATTEMPTS);
+            long elapsed = System.nanoTime() - start;
+
+            return new Result(mode, ATTEMPTS * 1_000_000_000.0 / elapsed, elapsed / 1_000.0 / ATTEMPTS, rejected);
+        }
+    }
+
+    private int attempt(UserService userService, List<UserRequest> existing, int attempts) {
+        int rejected = 0;
+        for (int i = 0; i < attempts; i++) {
+            try {
+                userService.createUser(existing.get(i % existing.size()));
+            } catch (UserAlreadyExistsException e) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private List<UserRequest> seed(UserService userService) {
+        List<UserRequest> requests = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Storm User " + i);
+            request.setEmail("storm" + i + "@example.com");
+            request.setAge(30);
+            requests.add(request);
+        }
+        for (int from = 0; from < USERS; from += UserService.MAX_BATCH_SIZE) {
+            userService.createUsers(requests.subList(from, Math.min(from + UserService.MAX_BATCH_SIZE, USERS)));
+        }
+        return requests;
+    }
+
+    private record Result(String mode, double attemptsPerSecond, double microsPerAttempt, int rejected) {
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %,9.0f rejections/s  %8.1f us/attempt  rejected %d",
+                    mode, attemptsPerSecond, microsPerAttempt, rejected);
+        }
+    }
+}
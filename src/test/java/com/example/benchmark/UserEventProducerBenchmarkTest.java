@@ -0,0 +1,122 @@
+package com.example.benchmark;
+
+import com.example.config.KafkaProducerKonfig;
+import com.example.kafka.EventPublisherProperties;
+import com.example.kafka.JsonUserEventSerializer;
+import com.example.kafka.ProducerTuningProperties;
+import com.example.kafka.UserEvent;
+import com.example.kafka.UserEventProducer;
+import com.example.kafka.UserEventSerializers;
+import com.example.kafka.UserEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Events per second and p99 publish-to-ack latency of {@link UserEventProducer} for each producer profile.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 3, topics = UserEventProducer.TOPIC)
+class UserEventProducerBenchmarkTest {
+
+    private static final int EVENTS = 50_000;
+    private static final int WARMUP_EVENTS = 5_000;
+
+    @Test
+    void throughputAndLatency_PerProducerProfile(EmbeddedKafkaBroker broker) throws Exception {
+        for (ProducerTuningProperties.Profile profile : ProducerTuningProperties.Profile.values()) {
+            Result result = run(broker, profile);
+            log.info("{}", result);
+            assertThat(result.eventsPerSecond()).isPositive();
+        }
+    }
+
+    private Result run(EmbeddedKafkaBroker broker, ProducerTuningProperties.Profile profile) throws Exception {
+        ProducerTuningProperties tuning = new ProducerTuningProperties();
+        tuning.setProfile(profile);
+
+        Map<String, Object> base = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        DefaultKafkaProducerFactory<String, byte[]> factory =
+                new DefaultKafkaProducerFactory<>(KafkaProducerKonfig.producerProperties(base, tuning));
+
+        EventPublisherProperties publisherProperties = new EventPublisherProperties();
+        publisherProperties.setQueueCapacity(EVENTS);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        UserEventSerializers serializers = new UserEventSerializers(
+                List.of(new JsonUserEventSerializer(objectMapper)), "json");
+        UserEventProducer producer = new UserEventProducer(new KafkaTemplate<>(factory), objectMapper,
+                serializers, publisherProperties, new SimpleMeterRegistry());
+        producer.start();
+
+        try {
+            publish(producer, WARMUP_EVENTS);
+
+            long[] latencies = new long[EVENTS];
+            long start = System.nanoTime();
+            publish(producer, latencies);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(profile, EVENTS * 1_000_000_000.0 / elapsed,
+                    latencies[(int) (EVENTS * 0.50)] / 1_000_000.0,
+                    latencies[(int) (EVENTS * 0.99)] / 1_000_000.0);
+        } finally {
+            producer.stop();
+            factory.destroy();
+        }
+    }
+
+    private void publish(UserEventProducer producer, int count) {
+        publish(producer, new long[count]);
+    }
+
+    private void publish(UserEventProducer producer, long[] latencies) {
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[latencies.length];
+
+        for (int i = 0; i < latencies.length; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            acks[i] = producer.publish(event(i))
+                    .whenComplete((ignored, error) -> latencies[index] = System.nanoTime() - sentAt);
+        }
+        CompletableFuture.allOf(acks).join();
+    }
+
+    private UserEvent event(int i) {
+        return new UserEvent(UserEventType.USER_CREATED, "user" + i + "@example.com",
+                (long) i, "Benchmark User " + i, System.currentTimeMillis());
+    }
+
+    private record Result(ProducerTuningProperties.Profile profile, double eventsPerSecond,
+                          double p50Millis, double p99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %,10.0f events/s   p50 %7.2f ms   p99 %7.2f ms",
+                    profile, eventsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
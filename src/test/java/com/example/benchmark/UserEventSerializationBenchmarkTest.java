@@ -0,0 +1,54 @@
+package com.example.benchmark;
+
+import com.example.kafka.BinaryUserEventSerializer;
+import com.example.kafka.JsonUserEventSerializer;
+import com.example.kafka.UserEvent;
+import com.example.kafka.UserEventSerializer;
+import com.example.kafka.UserEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode time per event for each {@link UserEventSerializer}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class UserEventSerializationBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void compareFormats() {
+        UserEvent event = new UserEvent(UserEventType.USER_CREATED, "benchmark.user@example.com",
+                1_234_567L, "Benchmark User", System.currentTimeMillis());
+
+        for (UserEventSerializer serializer : List.of(
+                new JsonUserEventSerializer(new ObjectMapper()), new BinaryUserEventSerializer())) {
+            run(serializer, event, WARMUP);
+            long start = System.nanoTime();
+            int bytes = run(serializer, event, ITERATIONS);
+            double nanosPerEvent = (System.nanoTime() - start) / (double) ITERATIONS;
+
+            log.info(String.format("%-6s size=%d B, encode+decode=%.0f ns/event",
+                    serializer.format(), serializer.serialize(event).length, nanosPerEvent));
+            assertThat(bytes).isPositive();
+        }
+    }
+
+    private int run(UserEventSerializer serializer, UserEvent event, int iterations) {
+        int bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            byte[] payload = serializer.serialize(event);
+            bytes += serializer.deserialize(payload).getEmail().length();
+        }
+        return bytes;
+    }
+}
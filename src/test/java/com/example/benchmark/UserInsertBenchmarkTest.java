@@ -0,0 +1,115 @@
+package com.example.benchmark;
+
+import benchmark.identity.LegacyIdentityUser;
+import com.example.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares insert throughput of the old IDENTITY mapping with the pooled sequence used by {@link User}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertThroughput_IdentityVersusPooledSequence() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Result identity = run("identity", statistics, i -> {
+            LegacyIdentityUser user = new LegacyIdentityUser();
+            user.setName("Identity " + i);
+            user.setEmail(i + "@identity.example.com");
+            user.setAge(30);
+            return user;
+        });
+
+        Result sequence = run("pooled-sequence", statistics, i -> User.builder()
+                .name("Sequence " + i)
+                .email(i + "@sequence.example.com")
+                .age(30)
+                .build());
+
+        log.info("{}", identity);
+        log.info("{}", sequence);
+
+        assertThat(sequence.statements()).isLessThan(identity.statements());
+    }
+
+    private Result run(String name, Statistics statistics, IntFunction<Object> factory) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long bestNanos = Long.MAX_VALUE;
+        long statements = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int offset = round * ROWS;
+            statistics.clear();
+            long start = System.nanoTime();
+
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < ROWS; i++) {
+                    entityManager.persist(factory.apply(offset + i));
+                    if (i % 500 == 499) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            statements = statistics.getPrepareStatementCount();
+        }
+
+        return new Result(name, ROWS * 1_000_000_000.0 / bestNanos, statements);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    @EntityScan(basePackageClasses = {User.class, LegacyIdentityUser.class})
+    static class LegacyIdentityMapping {
+    }
+
+    private record Result(String name, double rowsPerSecond, long statements) {
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %,12.0f rows/s %,8d statements per %,d rows",
+                    name, rowsPerSecond, statements, ROWS);
+        }
+    }
+}
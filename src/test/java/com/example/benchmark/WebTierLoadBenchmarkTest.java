@@ -0,0 +1,151 @@
+package com.example.benchmark;
+
+import com.example.UserManagementApplication;
+import com.example.dto.UserRequest;
+import com.example.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and tail latency of the HTTP tier on Tomcat's platform thread pool versus the
+ * virtual-threads profile, with many more concurrent clients than pooled connections.
+ * Run with {@code mvn test -Pbenchmark}; the virtual thread run needs a Java 21 JVM and {@code -Pjava21}.
+ */
+@Slf4j
+@Tag("benchmark")
+class WebTierLoadBenchmarkTest {
+
+    private static final int USERS = 2_000;
+    private static final int CLIENTS = 400;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int REQUESTS = 40_000;
+
+    @Test
+    void platformThreads() throws Exception {
+        Result result = run("platform");
+        log.info("{}", result);
+        assertThat(result.errors()).isZero();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreads() throws Exception {
+        Result result = run("virtual", "virtual-threads");
+        log.info("{}", result);
+        assertThat(result.requestsPerSecond()).isPositive();
+    }
+
+    private Result run(String mode, String... extraProfiles) throws Exception {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        profiles.addAll(List.of(extraProfiles));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(UserManagementApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties("server.port=0", "logging.level.root=WARN")
+                // defaults would lose to application.yml, so the cache switch goes in as an argument
+                .run("--app.user-cache.enabled=false")) {
+
+            long[] ids = seed(context.getBean(UserService.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/users/";
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            load(client, base, ids, WARMUP_REQUESTS, new long[WARMUP_REQUESTS], new AtomicInteger());
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            load(client, base, ids, REQUESTS, latencies, errors);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(mode, REQUESTS * 1_000_000_000.0 / elapsed,
+                    latencies[(int) (REQUESTS * 0.50)] / 1_000_000.0,
+                    latencies[(int) (REQUESTS * 0.99)] / 1_000_000.0,
+                    latencies[REQUESTS - 1] / 1_000_000.0,
+                    errors.get());
+        }
+    }
+
+    private void load(HttpClient client, String base, long[] ids, int requests, long[] latencies,
+                      AtomicInteger errors) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> workers = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                workers.add(clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + id)).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private long[] seed(UserService userService) {
+        List<Long> ids = new ArrayList<>(USERS);
+        for (int from = 0; from < USERS; from += UserService.MAX_BATCH_SIZE) {
+            List<UserRequest> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + UserService.MAX_BATCH_SIZE, USERS); i++) {
+                UserRequest request = new UserRequest();
+                request.setName("Load User " + i);
+                request.setEmail("load" + i + "@example.com");
+                request.setAge(30);
+                batch.add(request);
+            }
+            userService.createUsers(batch).getResults().forEach(result -> ids.add(result.getUser().getId()));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Result(String mode, double requestsPerSecond, double p50Millis, double p99Millis,
+                          double maxMillis, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,8.0f req/s  p50 %6.2f ms  p99 %7.2f ms  max %7.2f ms  errors %d",
+                    mode, requestsPerSecond, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+}
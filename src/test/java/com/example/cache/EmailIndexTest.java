@@ -0,0 +1,82 @@
+package com.example.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EmailIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailIndex emailIndex;
+
+    @BeforeEach
+    void setUp() {
+        EmailIndexProperties properties = new EmailIndexProperties();
+        properties.setExpectedInsertions(10_000);
+        meterRegistry = new SimpleMeterRegistry();
+        emailIndex = new EmailIndex(properties, meterRegistry);
+    }
+
+    @Test
+    void lookup_BeforeWarmUp_ShouldOnlyTrustRecentInserts() {
+        emailIndex.remember("warm@example.com");
+        emailIndex.added("recent@example.com");
+
+        assertThat(emailIndex.lookup("warm@example.com")).isEqualTo(EmailIndex.Membership.ABSENT);
+        assertThat(emailIndex.lookup("recent@example.com")).isEqualTo(EmailIndex.Membership.RECENT);
+    }
+
+    @Test
+    void lookup_AfterWarmUp_ShouldFlagKnownEmails() {
+        emailIndex.warmUp(List.of("a@example.com", "b@example.com").iterator());
+
+        assertThat(emailIndex.lookup("a@example.com")).isEqualTo(EmailIndex.Membership.MAYBE);
+        assertThat(emailIndex.lookup("b@example.com")).isEqualTo(EmailIndex.Membership.MAYBE);
+        assertThat(emailIndex.lookup("c@example.com")).isEqualTo(EmailIndex.Membership.ABSENT);
+    }
+
+    @Test
+    void removed_ShouldDropRecentEntryButKeepFilterHint() {
+        emailIndex.warmUp(Collections.emptyIterator());
+        emailIndex.added("gone@example.com");
+
+        emailIndex.removed("gone@example.com");
+
+        assertThat(emailIndex.lookup("gone@example.com")).isEqualTo(EmailIndex.Membership.MAYBE);
+    }
+
+    @Test
+    void disabledIndex_ShouldReportEverythingAbsent() {
+        EmailIndexProperties properties = new EmailIndexProperties();
+        properties.setEnabled(false);
+        EmailIndex disabled = new EmailIndex(properties, new SimpleMeterRegistry());
+        disabled.added("user@example.com");
+
+        assertThat(disabled.lookup("user@example.com")).isEqualTo(EmailIndex.Membership.ABSENT);
+    }
+
+    @Test
+    void falsePositiveRate_ShouldStayNearConfiguredProbability() {
+        emailIndex.warmUp(IntStream.range(0, 10_000).mapToObj(i -> "member" + i + "@example.com").iterator());
+
+        for (int i = 0; i < 20_000; i++) {
+            if (emailIndex.lookup("stranger" + i + "@example.com") == EmailIndex.Membership.MAYBE) {
+                emailIndex.recordProbe(false);
+            }
+        }
+
+        double observed = meterRegistry.get("users.email-index.false-positive.rate").gauge().value();
+        double expected = meterRegistry.get("users.email-index.false-positive.expected").gauge().value();
+        assertThat(observed).isBetween(0.001, 0.03);
+        assertThat(expected).isBetween(0.001, 0.03);
+        assertThat(meterRegistry.get("users.email-index.probes").tag("outcome", "false-positive")
+                .counter().count()).isEqualTo(observed * 20_000, within(1.0));
+    }
+}
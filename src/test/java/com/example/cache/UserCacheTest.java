@@ -0,0 +1,181 @@
+package com.example.cache;
+
+import com.example.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private UserCache userCache;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        userCache = new UserCache(new UserCacheProperties(), registry);
+    }
+
+    @Test
+    void put_ShouldBeReadableByIdAndEmail() {
+        userCache.put(userCache.loadToken(), user(1L, "cached@example.com"));
+
+        assertThat(userCache.getById(1L)).map(UserResponse::getEmail).contains("cached@example.com");
+        assertThat(userCache.getByEmail("cached@example.com")).map(UserResponse::getId).contains(1L);
+    }
+
+    @Test
+    void getById_ShouldReturnCopyWithoutLinks() {
+        userCache.put(userCache.loadToken(), user(1L, "copy@example.com"));
+
+        UserResponse first = userCache.getById(1L).orElseThrow();
+        first.add(Link.of("/api/users/1"));
+
+        assertThat(userCache.getById(1L).orElseThrow().getLinks()).isEmpty();
+    }
+
+    @Test
+    void invalidate_ShouldRemoveBothKeys() {
+        userCache.put(userCache.loadToken(), user(1L, "gone@example.com"));
+
+        userCache.invalidate(1L, "gone@example.com");
+
+        assertThat(userCache.getById(1L)).isEmpty();
+        assertThat(userCache.getByEmail("gone@example.com")).isEmpty();
+    }
+
+    @Test
+    void getByEmail_AfterEmailChange_ShouldMissForOldEmail() {
+        userCache.put(userCache.loadToken(), user(1L, "old@example.com"));
+        userCache.evict(1L);
+        userCache.put(userCache.loadToken(), user(1L, "new@example.com"));
+
+        assertThat(userCache.getByEmail("old@example.com")).isEmpty();
+        assertThat(userCache.getByEmail("new@example.com")).isPresent();
+    }
+
+    @Test
+    void put_WithTokenFromBeforeInvalidation_ShouldBeIgnored() {
+        long staleToken = userCache.loadToken();
+        userCache.evict(1L, "stale@example.com");
+
+        userCache.put(staleToken, user(1L, "stale@example.com"));
+
+        assertThat(userCache.getById(1L)).isEmpty();
+    }
+
+    @Test
+    void disabledCache_ShouldNeverHit() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setEnabled(false);
+        UserCache disabled = new UserCache(properties, new SimpleMeterRegistry());
+
+        disabled.put(disabled.loadToken(), user(1L, "off@example.com"));
+
+        assertThat(disabled.getById(1L)).isEmpty();
+    }
+
+    @Test
+    void loadById_ConcurrentMisses_ShouldShareOneLoadAndHandOutCopies() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<UserResponse> slowLoad = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return user(1L, "popular@example.com");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> userCache.loadById(1L, slowLoad)));
+            }
+            waitUntil(() -> collapsed("id") == 7);
+            release.countDown();
+
+            List<UserResponse> users = new ArrayList<>();
+            for (Future<UserResponse> result : results) {
+                users.add(result.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(users).extracting(UserResponse::getEmail).containsOnly("popular@example.com");
+            assertThat(users.stream().map(System::identityHashCode).distinct()).hasSize(8);
+            assertThat(userCache.getById(1L)).isPresent();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loadByEmail_AfterInvalidation_ShouldNotJoinOlderLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UserResponse> stale = executor.submit(() -> userCache.loadByEmail("moved@example.com", () -> {
+                await(release);
+                return user(1L, "moved@example.com");
+            }));
+            waitUntil(() -> executed("email") == 1);
+
+            userCache.invalidate(1L, "moved@example.com");
+            UserResponse fresh = userCache.loadByEmail("moved@example.com", () -> user(2L, "moved@example.com"));
+            release.countDown();
+
+            assertThat(fresh.getId()).isEqualTo(2L);
+            assertThat(stale.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+            assertThat(executed("email")).isEqualTo(2);
+            assertThat(userCache.getByEmail("moved@example.com")).map(UserResponse::getId).contains(2L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double collapsed(String key) {
+        return registry.get(UserCache.LOADS_METRIC).tags("key", key, "outcome", "collapsed").counter().count();
+    }
+
+    private double executed(String key) {
+        return registry.get(UserCache.LOADS_METRIC).tags("key", key, "outcome", "executed").counter().count();
+    }
+
+    private static void waitUntil(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within 5s");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UserResponse user(Long id, String email) {
+        return UserResponse.builder()
+                .id(id)
+                .name("Cached User")
+                .email(email)
+                .age(30)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private Connection pooled;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+    }
+
+    @Test
+    void getConnection_ShouldReturnPermitOnCloseOnlyOnce() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 0, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        connection.close();
+        connection.close();
+
+        verify(pooled, times(2)).close();
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_TooManyWaiting_ShouldRejectImmediately() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 0, Duration.ofSeconds(5));
+        dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many threads waiting");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(dataSource.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_ShouldWaitForReleasedPermit() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 1, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(second).isNotDone();
+        assertThat(dataSource.waitingThreads()).isEqualTo(1);
+
+        first.close();
+
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void getConnection_PermitReleasedWhileOthersQueue_ShouldGoToFirstWaiter() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 2, Duration.ofMillis(300));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(dataSource.waitingThreads()).isEqualTo(1);
+
+        first.close();
+
+        // a newcomer must not take the released permit ahead of the queued caller
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void getConnection_WaitTimesOut_ShouldFail() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 1, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(dataSource.waitingThreads()).isZero();
+    }
+
+    @Test
+    void getConnection_TargetFails_ShouldReturnPermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target, 1, 0, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
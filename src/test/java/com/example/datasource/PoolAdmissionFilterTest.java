@@ -0,0 +1,76 @@
+package com.example.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolAdmissionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @Test
+    void poolBacklog_ShouldShedWithRetryAfter() throws Exception {
+        PoolAdmissionFilter filter = filter(10, 2);
+        pending.set(2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            throw new AssertionError("shed request must not reach the handler");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("\"code\":\"OVERLOADED\"");
+        assertThat(registry.get(PoolAdmissionFilter.REJECTED_METRIC).tag("reason", "pool").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrencyLimit_ShouldShedOnlyWhileRequestInFlight() throws Exception {
+        PoolAdmissionFilter filter = filter(1, 100);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        FilterChain reentrant = (req, res) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(request(), inner, (r, s) -> {
+            });
+            nested.set(inner);
+        };
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request(), outer, reentrant);
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        filter.doFilter(request(), after, (req, res) -> {
+        });
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(registry.get(PoolAdmissionFilter.REJECTED_METRIC).tag("reason", "concurrency").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private PoolAdmissionFilter filter(int maxConcurrentRequests, int maxPendingConnections) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        properties.setMaxPendingConnections(maxPendingConnections);
+        properties.setRetryAfter(Duration.ofMillis(1500));
+        return new PoolAdmissionFilter(pending::get, properties, objectMapper, registry);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/users/1");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaPools replicas;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSourceWithLag(0);
+        replica = dataSourceWithLag(0);
+        replicas = new ReplicaPools(List.of(replica), "SELECT lag", Duration.ofSeconds(2));
+        routing = new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicas.close();
+    }
+
+    @Test
+    void lazyProxy_ShouldSendOnlyReadOnlyConnectionsToReplica() throws Exception {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(routing);
+
+        try (Connection readOnly = proxy.getConnection()) {
+            readOnly.setReadOnly(true);
+            readOnly.createStatement();
+        }
+        verify(replica).getConnection();
+
+        try (Connection readWrite = proxy.getConnection()) {
+            readWrite.createStatement();
+        }
+        verify(replica).getConnection();
+    }
+
+    @Test
+    void read_RecentlyWrittenKey_ShouldPinToPrimary() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setEnabled(true);
+        ReadYourWrites readYourWrites = new ReadYourWrites(properties);
+
+        readYourWrites.written(1L, "john@example.com");
+
+        assertThat(readYourWrites.read(1L, routing::route)).isSameAs(primary);
+        assertThat(readYourWrites.read("john@example.com", routing::route)).isSameAs(primary);
+        assertThat(readYourWrites.read(2L, routing::route)).isSameAs(replica);
+        assertThat(routing.route()).isSameAs(replica);
+    }
+
+    @Test
+    void readFromPrimary_ShouldPinBatchReadsOfRecentKeys() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setEnabled(true);
+        ReadYourWrites readYourWrites = new ReadYourWrites(properties);
+
+        readYourWrites.written(1L);
+
+        assertThat(readYourWrites.isRecent(1L)).isTrue();
+        assertThat(readYourWrites.isRecent(2L)).isFalse();
+        assertThat(readYourWrites.readFromPrimary(routing::route)).isSameAs(primary);
+        assertThat(readYourWrites.readFromPrimary(() -> readYourWrites.read(2L, routing::route))).isSameAs(primary);
+        assertThat(routing.route()).isSameAs(replica);
+    }
+
+    @Test
+    void read_StickinessDisabled_ShouldNotPin() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(new ReplicaProperties());
+
+        readYourWrites.written(1L);
+
+        assertThat(readYourWrites.read(1L, routing::route)).isSameAs(replica);
+    }
+
+    @Test
+    void checkLag_ReplicaBehind_ShouldFallBackToPrimaryUntilCaughtUp() throws Exception {
+        DataSource lagging = dataSourceWithLag(10);
+        try (ReplicaPools pools = new ReplicaPools(List.of(lagging), "SELECT lag", Duration.ofSeconds(2))) {
+            ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, pools);
+
+            pools.checkLag();
+
+            assertThat(pools.availableCount()).isZero();
+            assertThat(router.route()).isSameAs(primary);
+        }
+    }
+
+    @Test
+    void next_ShouldRotateOverAvailableReplicas() throws Exception {
+        DataSource second = dataSourceWithLag(0);
+        try (ReplicaPools pools = new ReplicaPools(List.of(replica, second), "SELECT lag", Duration.ofSeconds(2))) {
+            assertThat(List.of(pools.next(), pools.next(), pools.next()))
+                    .containsExactly(replica, second, replica);
+        }
+    }
+
+    private static DataSource dataSourceWithLag(double lagSeconds) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstraintViolationsTest {
+
+    @Test
+    void classify_NamedEmailConstraint_ShouldReportTakenEmail() {
+        assertThat(ConstraintViolations.classify(violation("23505", "uk_users_email")))
+                .isEqualTo(ErrorCode.EMAIL_ALREADY_EXISTS);
+        assertThat(ConstraintViolations.classify(violation("23505",
+                "\"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST) VALUES 1\"")))
+                .isEqualTo(ErrorCode.EMAIL_ALREADY_EXISTS);
+    }
+
+    @Test
+    void classify_UnnamedOrOtherUniqueViolation_ShouldNotAssumeEmail() {
+        assertThat(ConstraintViolations.classify(violation("23505", null)))
+                .isEqualTo(ErrorCode.DATA_INTEGRITY_VIOLATION);
+        assertThat(ConstraintViolations.classify(violation("23505", "users_pkey")))
+                .isEqualTo(ErrorCode.DATA_INTEGRITY_VIOLATION);
+        assertThat(ConstraintViolations.classify(violation("23502", "uk_users_email")))
+                .isEqualTo(ErrorCode.DATA_INTEGRITY_VIOLATION);
+    }
+
+    private static DataIntegrityViolationException violation(String sqlState, String constraintName) {
+        SQLException sql = new SQLException("violation", sqlState);
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", sql, constraintName));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogThrottleTest {
+
+    @Test
+    void acquire_ShouldDropLinesOverLimitAndReportThemLater() throws Exception {
+        LogThrottle throttle = new LogThrottle(2, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isZero();
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isZero();
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isNegative();
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isNegative();
+        assertThat(throttle.acquire(ErrorCode.EMAIL_ALREADY_EXISTS)).isZero();
+
+        Thread.sleep(60);
+
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isEqualTo(2);
+        assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isZero();
+    }
+
+    @Test
+    void acquire_WithNonPositiveLimit_ShouldNeverThrottle() {
+        LogThrottle throttle = new LogThrottle(0, TimeUnit.SECONDS.toNanos(1));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(throttle.acquire(ErrorCode.USER_NOT_FOUND)).isZero();
+        }
+    }
+}
@@ -1,26 +1,45 @@
 package com.example.integration;
 
+import com.example.datasource.ReadYourWrites;
+import com.example.datasource.ReplicaProperties;
 import com.example.dto.UserRequest;
 import com.example.repository.UserRepository;
+import com.example.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @EmbeddedKafka(partitions = 1, ports = 9092)
 @Transactional
 @ActiveProfiles("test")
@@ -35,6 +54,9 @@ class UserControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -76,9 +98,89 @@ class UserControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("EMAIL_ALREADY_EXISTS"))
                 .andExpect(jsonPath("$.message").value("Email already exists: " + email));
     }
 
+    @Test
+    void createUsers_Batch_ShouldReturnPerItemResults() throws Exception {
+        UserRequest first = new UserRequest();
+        first.setName("Batch One");
+        first.setEmail("batch-one-" + UUID.randomUUID() + "@example.com");
+        first.setAge(30);
+
+        UserRequest invalid = new UserRequest();
+        invalid.setName("Batch Two");
+        invalid.setEmail("invalid-email");
+        invalid.setAge(30);
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, invalid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].user.id").exists())
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].details.email").exists());
+    }
+
+    @Test
+    void lookupUsers_ShouldKeepRequestOrderAndMarkMissingKeys() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserRequest first = new UserRequest();
+        first.setName("Lookup One");
+        first.setEmail("lookup-one-" + suffix + "@example.com");
+        first.setAge(30);
+
+        UserRequest second = new UserRequest();
+        second.setName("Lookup Two");
+        second.setEmail("lookup-two-" + suffix + "@example.com");
+        second.setAge(40);
+
+        String created = mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long firstId = objectMapper.readTree(created).at("/results/0/user/id").asLong();
+        long secondId = objectMapper.readTree(created).at("/results/1/user/id").asLong();
+
+        String lookup = objectMapper.writeValueAsString(Map.of(
+                "ids", List.of(secondId, Long.MAX_VALUE, firstId),
+                "emails", List.of("LOOKUP-ONE-" + suffix + "@example.com", "missing-" + suffix + "@example.com")));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lookup))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("href"))))
+                .andExpect(jsonPath("$.found").value(3))
+                .andExpect(jsonPath("$.notFound").value(2))
+                .andExpect(jsonPath("$.results[0].id").value(secondId))
+                .andExpect(jsonPath("$.results[0].user.name").value("Lookup Two"))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].user").doesNotExist())
+                .andExpect(jsonPath("$.results[2].user.id").value(firstId))
+                .andExpect(jsonPath("$.results[3].email").value("lookup-one-" + suffix + "@example.com"))
+                .andExpect(jsonPath("$.results[3].user.id").value(firstId))
+                .andExpect(jsonPath("$.results[4].status").value(404));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .param("links", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lookup))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/api/users/" + secondId + "\"")));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+    }
+
     @Test
     void getUserById_ExistingUser_ShouldReturnUser() throws Exception {
         UserRequest request = new UserRequest();
@@ -100,13 +202,85 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.name").value("Test User"))
                 .andExpect(jsonPath("$.email").value(email))
-                .andExpect(jsonPath("$._links").exists());
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/api/users/" + userId))
+                .andExpect(jsonPath("$._links.update.href").value("http://localhost/api/users/" + userId))
+                .andExpect(jsonPath("$._links.collection.href").value("http://localhost/api/users"))
+                .andExpect(jsonPath("$._links.by-email.href").value("http://localhost/api/users/email/" + email));
+    }
+
+    @Test
+    void getUserById_IfNoneMatch_ShouldReturnNotModifiedFromCache() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("Polled User");
+        request.setEmail("polled-" + UUID.randomUUID() + "@example.com");
+        request.setAge(25);
+
+        String response = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Long userId = objectMapper.readTree(response).get("id").asLong();
+
+        String eTag = mockMvc.perform(get("/api/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userId + "-0\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users/{id}", userId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(header().string("X-Sql-Statements", "0"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":26}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/{id}", userId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userId + "-1\""))
+                .andExpect(jsonPath("$.age").value(26));
+    }
+
+    @Test
+    void getAllUsers_IfNoneMatch_ShouldReturnNotModifiedUntilPageChanges() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("Listed User");
+        request.setEmail("listed-" + UUID.randomUUID() + "@example.com");
+        request.setAge(25);
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        String eTag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        request.setEmail("listed-" + UUID.randomUUID() + "@example.com");
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/users").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(2));
     }
 
     @Test
     void getUserById_NonExistingUser_ShouldReturnNotFound() throws Exception {
         mockMvc.perform(get("/api/users/{id}", 99999L))
                 .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("USER_NOT_FOUND"))
                 .andExpect(jsonPath("$.message").value("User not found with id: 99999"));
     }
 
@@ -161,6 +335,49 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$._links").exists());
     }
 
+    @Test
+    void updateUser_IfMatch_ShouldReturnNewETagAndRejectStaleVersion() throws Exception {
+        UserRequest createRequest = new UserRequest();
+        createRequest.setName("Conditional");
+        createRequest.setEmail("conditional-" + UUID.randomUUID() + "@example.com");
+        createRequest.setAge(25);
+
+        String response = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Long userId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .header("If-Match", "\"" + userId + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"First Writer\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + userId + "-1\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .header("If-Match", "\"" + userId + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Second Writer\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("VERSION_MISMATCH"));
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .header("If-Match", "\"" + (userId + 1) + "-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Other Users Tag\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bare Version\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void createUser_InvalidEmail_ShouldReturnBadRequest() throws Exception {
         UserRequest request = new UserRequest();
@@ -172,6 +389,7 @@ class UserControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_FAILED"))
                 .andExpect(jsonPath("$.message").value("Validation failed"));
     }
 
@@ -251,4 +469,335 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$._embedded.userResponseList.length()").value(2))
                 .andExpect(jsonPath("$._links").exists());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllUsers_WithLimit_ShouldReturnNextLinkUntilLastPage() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Page User " + i);
+            request.setEmail("page" + i + "-" + UUID.randomUUID() + "@example.com");
+            request.setAge(20 + i);
+
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(2))
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/api/users?limit=2"))
+                .andExpect(jsonPath("$._links.next.href").value(startsWith(
+                        "http://localhost/api/users?after=")))
+                .andExpect(jsonPath("$._links.create.href").value("http://localhost/api/users"))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextHref = objectMapper.readTree(firstPage).at("/_links/next/href").asText();
+
+        mockMvc.perform(get(nextHref))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(1))
+                .andExpect(jsonPath("$._embedded.userResponseList[0].name").value("Page User 2"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    void getAllUsers_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchUsers_CombinedFilters_ShouldPageAndKeepFiltersInNextLink() throws Exception {
+        String domain = "search-" + UUID.randomUUID().toString().substring(0, 8) + ".example.com";
+        String[][] users = {
+                {"Alexander", "alex@" + domain, "30"},
+                {"Alexandra", "sasha@" + domain, "32"},
+                {"Alexey", "alexey@other.example.com", "31"},
+                {"Aleksei", "aleksei@" + domain, "50"}
+        };
+        for (String[] user : users) {
+            UserRequest request = new UserRequest();
+            request.setName(user[0]);
+            request.setEmail(user[1]);
+            request.setAge(Integer.parseInt(user[2]));
+
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/users/search")
+                        .param("name", "alex")
+                        .param("emailDomain", domain)
+                        .param("minAge", "18")
+                        .param("maxAge", "40")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(1))
+                .andExpect(jsonPath("$._embedded.userResponseList[0].name").value("Alexander"))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("emailDomain=" + domain)))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextHref = objectMapper.readTree(firstPage).at("/_links/next/href").asText();
+
+        mockMvc.perform(get(nextHref))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(1))
+                .andExpect(jsonPath("$._embedded.userResponseList[0].name").value("Alexandra"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    void searchUsers_UnselectiveFilters_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_ARGUMENT"));
+
+        mockMvc.perform(get("/api/users/search").param("minAge", "18"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search").param("name", "al"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search").param("createdFrom", "1970-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search").param("createdTo", "2030-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search").param("minAge", "0").param("maxAge", "120"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("createdFrom", "2025-01-01T00:00:00")
+                        .param("createdTo", "2025-01-31T00:00:00"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/search").param("minAge", "0").param("maxAge", "120")
+                        .param("name", "alex"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/search").param("name", "50%_off").param("maxAge", "200"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.maxAge").exists());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Export " + i);
+            request.setEmail("export" + i + "-" + UUID.randomUUID() + "@example.com");
+            request.setAge(30 + i);
+
+            mockMvc.perform(post("/api/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("name").asText()).isEqualTo("Export 0");
+        assertThat(objectMapper.readTree(lines[1]).has("links")).isFalse();
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getUserById_ShouldStayWithinSqlBudgetAndReportIt() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("Budget User");
+        request.setEmail("budget-" + UUID.randomUUID() + "@example.com");
+        request.setAge(30);
+
+        String response = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        Long userId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/api/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "1"))
+                .andExpect(header().string("X-Sql-Rows", "1"))
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")));
+
+        mockMvc.perform(get("/api/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "0"));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getUserByEmail_ShouldStayWithinSqlBudget() throws Exception {
+        String email = createBudgetUser("Budget Email").get("email").asText();
+
+        mockMvc.perform(get("/api/users/email/{email}", email))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "1"));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getAllUsers_ShouldStayWithinSqlBudgetForAnyPageSize() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createBudgetUser("Budget Page " + i);
+        }
+
+        mockMvc.perform(get("/api/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(2))
+                .andExpect(header().string("X-Sql-Statements", "1"));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void searchUsers_ShouldStayWithinSqlBudget() throws Exception {
+        createBudgetUser("Budgeted Search");
+
+        mockMvc.perform(get("/api/users/search").param("name", "budgeted"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.userResponseList.length()").value(1))
+                .andExpect(header().string("X-Sql-Statements", "1"));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void updateUser_ShouldStayWithinSqlBudget() throws Exception {
+        JsonNode user = createBudgetUser("Budget Update");
+        long userId = user.get("id").asLong();
+
+        mockMvc.perform(put("/api/users/{id}", userId)
+                        .header("If-Match", "\"" + userId + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Budget Updated\",\"email\":\"updated-"
+                                + user.get("email").asText() + "\",\"age\":31}"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(4));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void lookupUsers_ShouldStayWithinSqlBudget() throws Exception {
+        JsonNode first = createBudgetUser("Budget Lookup One");
+        JsonNode second = createBudgetUser("Budget Lookup Two");
+
+        String lookup = objectMapper.writeValueAsString(Map.of(
+                "ids", List.of(first.get("id").asLong(), second.get("id").asLong(), Long.MAX_VALUE),
+                "emails", List.of(first.get("email").asText(), "missing-" + UUID.randomUUID() + "@example.com")));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lookup))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(3))
+                .andExpect(sqlStatementsAtMost(4));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void lookupUsers_MaximumSizeWithRecentKeys_ShouldStayWithinSqlBudget() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 502).map(i -> Long.MAX_VALUE - i).boxed().toList();
+        List<String> emails = IntStream.range(0, 498)
+                .mapToObj(i -> "budget-lookup-" + i + "@example.com")
+                .toList();
+
+        // 501 routed ids + 1 recent id, 497 routed emails + 1 recent email
+        ReplicaProperties replicas = new ReplicaProperties();
+        replicas.setEnabled(true);
+        ReadYourWrites stickyReads = new ReadYourWrites(replicas);
+        stickyReads.written(ids.get(501), emails.get(497));
+
+        UserService target = AopTestUtils.getTargetObject(userService);
+        Object readYourWrites = ReflectionTestUtils.getField(target, "readYourWrites");
+        ReflectionTestUtils.setField(target, "readYourWrites", stickyReads);
+        try {
+            mockMvc.perform(post("/api/users/lookup")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("ids", ids, "emails", emails))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.notFound").value(UserService.MAX_LOOKUP_SIZE))
+                    .andExpect(sqlStatementsAtMost(4));
+        } finally {
+            ReflectionTestUtils.setField(target, "readYourWrites", readYourWrites);
+        }
+    }
+
+    private static ResultMatcher sqlStatementsAtMost(int statements) {
+        return result -> assertThat(Integer.parseInt(result.getResponse().getHeader("X-Sql-Statements")))
+                .isLessThanOrEqualTo(statements);
+    }
+
+    private JsonNode createBudgetUser(String name) throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName(name);
+        request.setEmail("budget-" + UUID.randomUUID() + "@example.com");
+        request.setAge(30);
+
+        String response = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeServiceTimersAndSqlStatementCounts() throws Exception {
+        UserRequest request = new UserRequest();
+        request.setName("Metrics User");
+        request.setEmail("metrics-" + UUID.randomUUID() + "@example.com");
+        request.setAge(30);
+
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("users_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"createUser\"")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_sql_statements_count{application=\"user-service\",method=\"POST\",status=\"201\",uri=\"/api/users\"")))
+                .andExpect(content().string(containsString("user_events_send_seconds")))
+                .andExpect(content().string(containsString("db_pool_saturation")));
+    }
+
+    @Test
+    void unknownPath_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/wp-login.php"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.kafka;
+
+import com.example.entity.OutboxEvent;
+import com.example.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private UserEventProducer userEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxProperties properties;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setSendTimeout(Duration.ofMillis(200));
+        properties.setLeaseTimeout(Duration.ofSeconds(60));
+        properties.setRetryBackoff(Duration.ofSeconds(1));
+        properties.setMaxRetryBackoff(Duration.ofSeconds(4));
+        properties.setMaxAttempts(3);
+        relay = new OutboxRelay(outboxEventRepository, userEventProducer, transactionManager,
+                properties, mock(Environment.class));
+    }
+
+    @Test
+    void relayBatch_ShouldLeaseInOneTransactionAndPublishOutsideIt() {
+        long before = System.currentTimeMillis();
+        OutboxEvent row = row(1L, 0);
+        when(outboxEventRepository.findClaimable(anyLong(), any(Limit.class))).thenReturn(List.of(row));
+        when(userEventProducer.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        InOrder order = inOrder(transactionManager, userEventProducer, outboxEventRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxEventRepository).findClaimable(anyLong(), any(Limit.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(userEventProducer).publish(any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        order.verify(transactionManager).commit(any());
+        assertThat(row.getNextAttemptAt()).isGreaterThanOrEqualTo(before + 60_000);
+    }
+
+    @Test
+    void relayBatch_FailedSend_ShouldRescheduleWithBackoff() {
+        long before = System.currentTimeMillis();
+        OutboxEvent row = row(1L, 2);
+        properties.setMaxAttempts(10);
+        when(outboxEventRepository.findClaimable(anyLong(), any(Limit.class))).thenReturn(List.of(row));
+        when(userEventProducer.publish(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(outboxEventRepository).saveAll(List.of(row));
+        assertThat(row.getAttempts()).isEqualTo(3);
+        assertThat(row.getLastError()).isEqualTo("broker down");
+        assertThat(row.getDeadLetteredAt()).isNull();
+        // 1s doubled twice, capped at max-retry-backoff
+        assertThat(row.getNextAttemptAt()).isBetween(before + 4_000, System.currentTimeMillis() + 4_000);
+    }
+
+    @Test
+    void relayBatch_MaxAttemptsReached_ShouldDeadLetter() {
+        OutboxEvent acked = row(1L, 0);
+        OutboxEvent exhausted = row(2L, 2);
+        when(outboxEventRepository.findClaimable(anyLong(), any(Limit.class))).thenReturn(List.of(acked, exhausted));
+        when(userEventProducer.publish(any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(new CompletableFuture<>());
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxEventRepository).saveAll(List.of(exhausted));
+        assertThat(exhausted.getAttempts()).isEqualTo(3);
+        assertThat(exhausted.getDeadLetteredAt()).isNotNull();
+        assertThat(exhausted.getLastError()).startsWith("Not acknowledged");
+    }
+
+    @Test
+    void relayBatch_NothingClaimable_ShouldNotOpenSecondTransaction() {
+        when(outboxEventRepository.findClaimable(anyLong(), any(Limit.class))).thenReturn(new ArrayList<>());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(transactionManager).getTransaction(any());
+        verify(userEventProducer, never()).publish(any());
+    }
+
+    @Test
+    void drain_Stopped_ShouldNotClaim() {
+        relay.stop();
+
+        relay.drain();
+
+        assertThat(relay.isRunning()).isFalse();
+        verify(outboxEventRepository, never()).findClaimable(anyLong(), any(Limit.class));
+    }
+
+    private static OutboxEvent row(Long id, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(UserEventType.USER_CREATED.name())
+                .userId(id)
+                .email("user" + id + "@example.com")
+                .userName("User " + id)
+                .occurredAt(System.currentTimeMillis())
+                .attempts(attempts)
+                .build();
+    }
+}
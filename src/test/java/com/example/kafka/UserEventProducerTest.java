@@ -1,51 +1,94 @@
 package com.example.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.NotLeaderOrFollowerException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UserEventProducerTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> recordCaptor;
 
     private UserEventProducer userEventProducer;
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    private UserEventSerializers serializers;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EventPublisherProperties properties;
+
+    @TempDir
+    private Path spillDirectory;
+
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper);
+        serializers = new UserEventSerializers(
+                List.of(new JsonUserEventSerializer(objectMapper), new BinaryUserEventSerializer()), "json");
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new EventPublisherProperties();
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setSpillDirectory(spillDirectory);
+        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        userEventProducer.stop();
     }
 
     @Test
-    void sendUserEvent_ShouldSendCorrectMessage() throws JsonProcessingException {
+    void publish_ShouldSendCorrectMessage() throws Exception {
         String email = "test@example.com";
         Long userId = 123L;
         String userName = "Test User";
         UserEventType eventType = UserEventType.USER_CREATED;
+        when(kafkaTemplate.send(anyRecord())).thenReturn(acked());
+        userEventProducer.start();
 
-        ArgumentCaptor<String> messageCaptor = ArgumentCaptor.forClass(String.class);
+        userEventProducer.publish(new UserEvent(eventType, email, userId, userName, System.currentTimeMillis()));
 
-        userEventProducer.sendUserEvent(eventType, email, userId, userName);
+        verify(kafkaTemplate, timeout(1000)).send(recordCaptor.capture());
 
-        verify(kafkaTemplate).send(eq("user-events"), eq(email), messageCaptor.capture());
+        ProducerRecord<String, byte[]> sentRecord = recordCaptor.getValue();
+        assertThat(sentRecord.topic()).isEqualTo("user-events");
+        assertThat(sentRecord.key()).isEqualTo(email);
+        assertThat(sentRecord.headers().lastHeader(UserEventSerializer.SCHEMA_ID_HEADER).value())
+                .isEqualTo("1".getBytes());
 
-        String sentMessage = messageCaptor.getValue();
-
-        UserEvent sentEvent = objectMapper.readValue(sentMessage, UserEvent.class);
+        UserEvent sentEvent = objectMapper.readValue(sentRecord.value(), UserEvent.class);
 
         assertThat(sentEvent.getEventType()).isEqualTo(eventType);
         assertThat(sentEvent.getEmail()).isEqualTo(email);
@@ -53,4 +96,164 @@ class UserEventProducerTest {
         assertThat(sentEvent.getUserName()).isEqualTo(userName);
         assertThat(sentEvent.getTimestamp()).isGreaterThan(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void publish_ShouldCompleteOnlyAfterBrokerAck() throws Exception {
+        CompletableFuture<SendResult<String, byte[]>> broker = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord())).thenReturn(broker);
+        userEventProducer.start();
+
+        CompletableFuture<Void> result = userEventProducer.publish(event("ack@example.com"));
+
+        verify(kafkaTemplate, timeout(1000)).send(anyRecord());
+        assertThat(result).isNotDone();
+
+        broker.complete(null);
+
+        result.get(1, TimeUnit.SECONDS);
+        assertThat(counter("sent")).isEqualTo(1);
+    }
+
+    @Test
+    void publish_RetriableFailure_ShouldRetryThenSucceed() throws Exception {
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new NotLeaderOrFollowerException("leader moved")))
+                .thenReturn(acked());
+        userEventProducer.start();
+
+        userEventProducer.publish(event("retry@example.com")).get(1, TimeUnit.SECONDS);
+
+        verify(kafkaTemplate, times(2)).send(anyRecord());
+        assertThat(counter("retried")).isEqualTo(1);
+        assertThat(counter("sent")).isEqualTo(1);
+    }
+
+    @Test
+    void publish_NonRetriableFailure_ShouldFailFuture() {
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("serialization")));
+        userEventProducer.start();
+
+        CompletableFuture<Void> result = userEventProducer.publish(event("fail@example.com"));
+
+        assertThat(result).failsWithin(Duration.ofSeconds(1));
+        assertThat(counter("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void publish_QueueFullWithDropPolicy_ShouldDrop() {
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(EventPublisherProperties.OverflowPolicy.DROP);
+        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+
+        CompletableFuture<Void> queued = userEventProducer.publish(event("first@example.com"));
+        CompletableFuture<Void> overflow = userEventProducer.publish(event("second@example.com"));
+
+        assertThat(queued).isNotDone();
+        assertThat(overflow).isCompletedExceptionally();
+        assertThat(counter("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void publish_QueueFullWithSpillPolicy_ShouldCompleteOnlyAfterReplayedSendIsAcked() throws Exception {
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(EventPublisherProperties.OverflowPolicy.SPILL);
+        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+        CompletableFuture<SendResult<String, byte[]>> replayAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(acked())
+                .thenReturn(replayAck);
+
+        userEventProducer.publish(event("first@example.com"));
+        CompletableFuture<Void> overflow = userEventProducer.publish(event("spilled@example.com"));
+
+        assertThat(overflow).isNotDone();
+        assertThat(Files.readString(spillDirectory.resolve("spill.ndjson"))).contains("spilled@example.com");
+
+        userEventProducer.start();
+
+        verify(kafkaTemplate, timeout(2000).times(2)).send(recordCaptor.capture());
+        assertThat(recordCaptor.getAllValues()).extracting(ProducerRecord::key).contains("spilled@example.com");
+        assertThat(overflow).isNotDone();
+
+        replayAck.complete(null);
+
+        overflow.get(2, TimeUnit.SECONDS);
+        assertThat(counter("spilled")).isEqualTo(1);
+    }
+
+    @Test
+    void replay_FailedSend_ShouldResumeFromOffsetWithoutResendingAckedLines() throws Exception {
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(EventPublisherProperties.OverflowPolicy.SPILL);
+        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(acked())
+                .thenReturn(acked())
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(acked());
+
+        userEventProducer.publish(event("first@example.com"));
+        CompletableFuture<Void> spilledA = userEventProducer.publish(event("spilled-a@example.com"));
+        CompletableFuture<Void> spilledB = userEventProducer.publish(event("spilled-b@example.com"));
+
+        userEventProducer.start();
+
+        spilledA.get(2, TimeUnit.SECONDS);
+        spilledB.get(2, TimeUnit.SECONDS);
+
+        verify(kafkaTemplate, timeout(2000).times(4)).send(recordCaptor.capture());
+        assertThat(recordCaptor.getAllValues()).extracting(ProducerRecord::key).containsExactly(
+                "first@example.com", "spilled-a@example.com", "spilled-b@example.com", "spilled-b@example.com");
+        assertThat(spillDirectory.resolve("replay.ndjson")).doesNotExist();
+        assertThat(spillDirectory.resolve("replay.offset")).doesNotExist();
+    }
+
+    @Test
+    void replay_LinesLeftByEarlierProcess_ShouldNotCompleteThisProcessFutures() throws Exception {
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(EventPublisherProperties.OverflowPolicy.SPILL);
+        UserEventProducer earlierProcess =
+                new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+        earlierProcess.publish(event("old-queued@example.com"));
+        earlierProcess.publish(event("old-spilled@example.com"));
+
+        userEventProducer = new UserEventProducer(kafkaTemplate, objectMapper, serializers, properties, meterRegistry);
+        CompletableFuture<SendResult<String, byte[]>> newSpilledAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(acked())
+                .thenReturn(acked())
+                .thenReturn(newSpilledAck);
+
+        userEventProducer.publish(event("first@example.com"));
+        CompletableFuture<Void> overflow = userEventProducer.publish(event("new-spilled@example.com"));
+        assertThat(Files.readAllLines(spillDirectory.resolve("spill.ndjson"))).hasSize(2);
+
+        userEventProducer.start();
+
+        verify(kafkaTemplate, timeout(2000).times(3)).send(recordCaptor.capture());
+        assertThat(recordCaptor.getAllValues()).extracting(ProducerRecord::key).containsExactly(
+                "first@example.com", "old-spilled@example.com", "new-spilled@example.com");
+        assertThat(overflow).isNotDone();
+
+        newSpilledAck.complete(null);
+
+        overflow.get(2, TimeUnit.SECONDS);
+    }
+
+    private UserEvent event(String email) {
+        return new UserEvent(UserEventType.USER_CREATED, email, 1L, "Test User", System.currentTimeMillis());
+    }
+
+    private static ProducerRecord<String, byte[]> anyRecord() {
+        return any();
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.counter("user.events.publish", "outcome", outcome).count();
+    }
+}
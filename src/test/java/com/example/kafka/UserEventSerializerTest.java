@@ -0,0 +1,136 @@
+package com.example.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserEventSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryUserEventSerializer binary = new BinaryUserEventSerializer();
+
+    private UserEventSerializers serializers;
+
+    @BeforeEach
+    void setUp() {
+        serializers = new UserEventSerializers(List.of(new JsonUserEventSerializer(objectMapper), binary), "binary");
+    }
+
+    @Test
+    void binary_ShouldRoundTripAndBeSmallerThanJson() throws Exception {
+        UserEvent event = event();
+
+        byte[] encoded = binary.serialize(event);
+
+        assertThat(binary.deserialize(encoded)).isEqualTo(event);
+        assertThat(encoded.length).isLessThan(objectMapper.writeValueAsBytes(event).length / 2);
+    }
+
+    @Test
+    void binary_ShouldRoundTripPreviousEmailOfUpdate() {
+        UserEvent event = new UserEvent(UserEventType.USER_UPDATED, "new@example.com", 123L, "Test User",
+                1_700_000_000_000L, "old@example.com");
+
+        assertThat(binary.deserialize(binary.serialize(event))).isEqualTo(event);
+    }
+
+    @Test
+    void binary_ShouldSkipUnknownFieldsAndLeaveMissingFieldsNull() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUserEventSerializer.writeVarintField(out, BinaryUserEventSerializer.EVENT_TYPE,
+                UserEventType.USER_DELETED.getCode());
+        BinaryUserEventSerializer.writeStringField(out, 42, "added by a newer producer");
+        BinaryUserEventSerializer.writeVarintField(out, 43, 7);
+        BinaryUserEventSerializer.writeVarintField(out, BinaryUserEventSerializer.USER_ID, 99);
+
+        UserEvent decoded = binary.deserialize(out.toByteArray());
+
+        assertThat(decoded.getEventType()).isEqualTo(UserEventType.USER_DELETED);
+        assertThat(decoded.getUserId()).isEqualTo(99L);
+        assertThat(decoded.getEmail()).isNull();
+        assertThat(decoded.getTimestamp()).isNull();
+    }
+
+    @Test
+    void binary_TruncatedPayload_ShouldFailWithOffset() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUserEventSerializer.writeStringField(out, BinaryUserEventSerializer.EMAIL, "test@example.com");
+        // key and length of the email field, then only three of its sixteen bytes
+        byte[] cutInEmail = Arrays.copyOf(out.toByteArray(), 5);
+
+        assertThatThrownBy(() -> binary.deserialize(cutInEmail))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Length 16 at offset 1");
+        assertThatThrownBy(() -> binary.deserialize(new byte[]{(byte) 0x80}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated varint at offset 0");
+
+        // a cut on a field boundary is a valid shorter event, anywhere else a clear error
+        byte[] encoded = binary.serialize(event());
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] prefix = Arrays.copyOf(encoded, length);
+            assertThatCode(() -> {
+                try {
+                    binary.deserialize(prefix);
+                } catch (IllegalArgumentException expected) {
+                    assertThat(expected).hasMessageContaining("offset");
+                }
+            }).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void binary_KnownFieldWithWrongWireType_ShouldFail() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryUserEventSerializer.writeVarintField(out, BinaryUserEventSerializer.USER_ID, 99);
+        BinaryUserEventSerializer.writeVarintField(out, BinaryUserEventSerializer.EMAIL, 7);
+
+        assertThatThrownBy(() -> binary.deserialize(out.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field 2 at offset 2 has wire type 0, expected 2");
+    }
+
+    @Test
+    void deserialize_ShouldPickSerializerBySchemaIdHeader() {
+        UserEvent event = event();
+        UserEventSerializer active = serializers.active();
+
+        UserEvent decoded = serializers.deserialize(active.serialize(event), serializers.headersFor(active));
+
+        assertThat(active).isSameAs(binary);
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void deserialize_WithoutSchemaHeader_ShouldFallBackToJson() throws Exception {
+        UserEvent event = event();
+
+        UserEvent decoded = serializers.deserialize(objectMapper.writeValueAsBytes(event), new RecordHeaders());
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void deserialize_UnknownSchemaId_ShouldFail() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(UserEventSerializer.SCHEMA_ID_HEADER, "99".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> serializers.deserialize(new byte[0], headers))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+
+    private UserEvent event() {
+        return new UserEvent(UserEventType.USER_CREATED, "test@example.com", 123L, "Test User", 1_700_000_000_000L);
+    }
+}
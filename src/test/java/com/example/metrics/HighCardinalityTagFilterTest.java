@@ -0,0 +1,41 @@
+package com.example.metrics;
+
+import com.example.config.MetricsKonfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HighCardinalityTagFilterTest {
+
+    @Test
+    void enabled_ShouldKeepAllTags() {
+        SimpleMeterRegistry registry = registry(true);
+
+        registry.counter("requests", "uri", "/api/users/{id}", "method", "GET").increment();
+
+        assertThat(registry.get("requests").counter().getId().getTag("uri")).isEqualTo("/api/users/{id}");
+    }
+
+    @Test
+    void disabled_ShouldDropConfiguredTagsAndMergeSeries() {
+        SimpleMeterRegistry registry = registry(false);
+
+        registry.counter("requests", "uri", "/api/users/1", "method", "GET").increment();
+        registry.counter("requests", "uri", "/api/users/2", "method", "GET").increment();
+
+        assertThat(registry.get("requests").counters()).hasSize(1);
+        assertThat(registry.get("requests").counter().getId().getTag("uri")).isNull();
+        assertThat(registry.get("requests").counter().getId().getTag("method")).isEqualTo("GET");
+        assertThat(registry.get("requests").counter().count()).isEqualTo(2.0);
+    }
+
+    private static SimpleMeterRegistry registry(boolean highCardinalityTags) {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setHighCardinalityTags(highCardinalityTags);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsKonfig().highCardinalityTagFilter(properties));
+        return registry;
+    }
+}
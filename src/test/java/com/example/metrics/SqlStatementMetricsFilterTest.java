@@ -0,0 +1,71 @@
+package com.example.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void overBudget_Enforced_ShouldFailRequest() {
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(registry, true, true);
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("prepared 2 SQL statements, budget is 1");
+        assertThat(registry.get(SqlStatementMetricsFilter.BUDGET_EXCEEDED_METRIC).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void overBudget_NotEnforced_ShouldOnlyCount() throws Exception {
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(registry, true, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, statements(3));
+
+        assertThat(response.getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER)).isEqualTo("3");
+        assertThat(registry.get(SqlStatementMetricsFilter.BUDGET_EXCEEDED_METRIC).counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(SqlStatementMetricsFilter.METRIC).summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void withinBudget_ShouldRecordWithoutHeadersWhenDisabled() throws Exception {
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(registry, false, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, statements(1));
+
+        assertThat(response.getHeader(SqlStatementMetricsFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(registry.find(SqlStatementMetricsFilter.BUDGET_EXCEEDED_METRIC).counter()).isNull();
+    }
+
+    @SqlBudget(statements = 1)
+    void budgetedHandler() {
+    }
+
+    private MockHttpServletRequest request() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, getClass().getDeclaredMethod("budgetedHandler")));
+        return request;
+    }
+
+    private static FilterChain statements(int count) {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                counter.inspect("select 1");
+            }
+        };
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.repository;
 
 import com.example.entity.User;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
@@ -20,6 +23,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void findByEmail_ExistingEmail_ShouldReturnUser() {
         User user = User.builder()
@@ -115,4 +121,56 @@ class UserRepositoryTest {
         assertThatThrownBy(() -> userRepository.saveAndFlush(user2))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findViewById_ShouldReturnProjectionWithoutManagingEntity() {
+        User saved = userRepository.saveAndFlush(User.builder()
+                .name("View User")
+                .email("view@example.com")
+                .age(41)
+                .build());
+        assertThat(managedEntityCount()).isOne();
+        entityManager.clear();
+
+        Optional<UserView> view = userRepository.findViewById(saved.getId());
+
+        assertThat(view).contains(new UserView(saved.getId(), "View User", "view@example.com", 41,
+                saved.getCreatedAt(), saved.getVersion()));
+        assertThat(managedEntityCount()).isZero();
+        assertThat(userRepository.findViewByEmail("view@example.com")).map(UserView::id).contains(saved.getId());
+        assertThat(managedEntityCount()).isZero();
+    }
+
+    @Test
+    void findViewsByIdGreaterThan_ShouldReturnOrderedKeysetPage() {
+        User first = userRepository.save(User.builder().name("User1").email("user1@example.com").age(20).build());
+        User second = userRepository.save(User.builder().name("User2").email("user2@example.com").age(25).build());
+        User third = userRepository.save(User.builder().name("User3").email("user3@example.com").age(30).build());
+        userRepository.flush();
+
+        List<UserView> page = userRepository.findViewsByIdGreaterThan(first.getId(), Limit.of(1));
+
+        assertThat(page).extracting(UserView::id).containsExactly(second.getId());
+        assertThat(userRepository.findViewsByIdGreaterThan(0L, Limit.of(10)))
+                .extracting(UserView::id)
+                .containsExactly(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    void findViews_ShouldTreatLikeWildcardsLiterally() {
+        userRepository.save(User.builder().name("100% Cotton").email("cotton@shop.example.com").age(30).build());
+        userRepository.save(User.builder().name("1000 Threads").email("threads@shop.example.com").age(30).build());
+        entityManager.flush();
+
+        List<UserView> views = userRepository.findViews(UserSpecifications.nameStartsWith("100%"), 0L, 10);
+
+        assertThat(views).extracting(UserView::name).containsExactly("100% Cotton");
+        assertThat(userRepository.findViews(UserSpecifications.emailDomain("shop.example.com")
+                        .and(UserSpecifications.ageAtMost(30)), 0L, 10))
+                .hasSize(2);
+    }
+
+    private int managedEntityCount() {
+        return entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
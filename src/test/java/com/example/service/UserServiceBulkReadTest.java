@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.entity.User;
+import com.example.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-table reads under the production request-path limits: {@code spring.transaction.default-timeout}
+ * scaled down from 10s to 2s, and {@code app.datasource.bulk-read.session-sqls} set as in production, with
+ * an H2 session variable standing in for the PostgreSQL {@code SET LOCAL} statements. The context only
+ * starts if the email index warm-up survives the same settings.
+ */
+@SpringBootTest(properties = {
+        "spring.transaction.default-timeout=2s",
+        "app.datasource.bulk-read.session-sqls=SET @bulk_read = TRUE"
+})
+@ActiveProfiles("test")
+class UserServiceBulkReadTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportUsers_ClientSlowerThanRequestTimeout_ShouldStreamEveryUser() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(userRepository.save(User.builder()
+                    .name("Export " + i)
+                    .email("bulk-export" + i + "@example.com")
+                    .age(30)
+                    .build()).getId());
+        }
+
+        List<Long> exported = new ArrayList<>();
+        List<Object> sessionSettings = new ArrayList<>();
+        long count = userService.exportUsers(user -> {
+            if (exported.isEmpty()) {
+                pause(2500);
+            }
+            // past the request-path deadline any further statement would fail with "transaction timeout expired"
+            sessionSettings.add(entityManager.createNativeQuery("SELECT @bulk_read").getSingleResult());
+            exported.add(user.getId());
+        });
+
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).containsExactlyElementsOf(ids);
+        assertThat(sessionSettings).containsOnly(true);
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,30 +1,51 @@
 package com.example.service;
 
+import com.example.cache.EmailIndex;
+import com.example.cache.UserCache;
+import com.example.datasource.BulkReadSession;
+import com.example.datasource.ReadYourWrites;
+import com.example.dto.UserBatchItemResult;
+import com.example.dto.UserBatchResponse;
+import com.example.dto.UserPage;
 import com.example.dto.UserRequest;
 import com.example.dto.UserResponse;
 import com.example.dto.UserUpdateRequest;
+import com.example.entity.OutboxEvent;
+import com.example.exception.ErrorCode;
 import com.example.exception.UserAlreadyExistsException;
 import com.example.exception.UserNotFoundException;
+import com.example.exception.UserVersionConflictException;
+import com.example.kafka.UserEventOutbox;
+import com.example.repository.OutboxEventRepository;
 import com.example.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.outbox.enabled=true")
 @EmbeddedKafka(partitions = 1, ports = 9092, topics = {"user-events"})
 @ActiveProfiles("test")
 @Transactional
@@ -39,6 +60,33 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EmailIndex emailIndex;
+
+    @Autowired
+    private UserEventOutbox userEventOutbox;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private BulkReadSession bulkReadSession;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -96,6 +144,94 @@ class UserServiceIntegrationTest {
         assertThat(updated.getEmail()).isEqualTo(email);
     }
 
+    @Test
+    void updateUser_ShouldBumpVersionAndWriteUpdatedEvent() {
+        UserRequest createRequest = new UserRequest();
+        createRequest.setName("Versioned");
+        createRequest.setEmail("versioned-" + UUID.randomUUID() + "@example.com");
+        createRequest.setAge(25);
+        UserResponse created = userService.createUser(createRequest);
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setAge(26);
+
+        UserResponse updated = userService.updateUser(created.getId(), updateRequest, created.getVersion());
+
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(updated.getName()).isEqualTo("Versioned");
+        assertThat(userRepository.findViewById(created.getId()))
+                .hasValueSatisfying(view -> {
+                    assertThat(view.age()).isEqualTo(26);
+                    assertThat(view.version()).isEqualTo(updated.getVersion());
+                });
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getUserId().equals(created.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactlyInAnyOrder("USER_CREATED", "USER_UPDATED");
+    }
+
+    @Test
+    void updateUser_EmailChanged_ShouldCarryPreviousEmailInUpdatedEvent() {
+        String previousEmail = "before-" + UUID.randomUUID() + "@example.com";
+        UserRequest createRequest = new UserRequest();
+        createRequest.setName("Renamed");
+        createRequest.setEmail(previousEmail);
+        createRequest.setAge(25);
+        UserResponse created = userService.createUser(createRequest);
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setEmail("after-" + UUID.randomUUID() + "@example.com");
+        userService.updateUser(created.getId(), updateRequest);
+
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getUserId().equals(created.getId()))
+                .filteredOn(event -> event.getEventType().equals("USER_UPDATED"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getEmail()).isEqualTo(updateRequest.getEmail());
+                    assertThat(event.getPreviousEmail()).isEqualTo(previousEmail);
+                });
+    }
+
+    @Test
+    void updateUser_StaleVersion_ShouldFailPrecondition() {
+        UserRequest createRequest = new UserRequest();
+        createRequest.setName("Stale");
+        createRequest.setEmail("stale-" + UUID.randomUUID() + "@example.com");
+        createRequest.setAge(25);
+        UserResponse created = userService.createUser(createRequest);
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setName("Lost Update");
+
+        assertThatThrownBy(() -> userService.updateUser(created.getId(), updateRequest, created.getVersion() + 1))
+                .isInstanceOf(UserVersionConflictException.class)
+                .extracting(e -> ((UserVersionConflictException) e).getCode())
+                .isEqualTo(ErrorCode.VERSION_MISMATCH);
+        assertThat(userService.getUserById(created.getId()).getName()).isEqualTo("Stale");
+    }
+
+    @Test
+    void updateUser_NothingChanged_ShouldNotWrite() {
+        UserRequest createRequest = new UserRequest();
+        createRequest.setName("Same");
+        createRequest.setEmail("same-" + UUID.randomUUID() + "@example.com");
+        createRequest.setAge(25);
+        UserResponse created = userService.createUser(createRequest);
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setName("Same");
+        updateRequest.setAge(25);
+
+        UserResponse updated = userService.updateUser(created.getId(), updateRequest);
+
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion());
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getUserId().equals(created.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly("USER_CREATED");
+    }
+
     @Test
     void deleteUser_ExistingUser_ShouldDelete() {
         UserRequest request = new UserRequest();
@@ -113,21 +249,136 @@ class UserServiceIntegrationTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllUsers() {
-        int count = 3;
-        for (int i = 0; i < count; i++) {
+    void getUsers_ShouldPageByCursor() {
+        for (int i = 0; i < 5; i++) {
             UserRequest request = new UserRequest();
             request.setName("User " + i);
-            request.setEmail("user" + i + "-" + UUID.randomUUID() + "@example.com");
+            request.setEmail("page" + i + "-" + UUID.randomUUID() + "@example.com");
             request.setAge(20 + i);
             userService.createUser(request);
         }
 
-        List<UserResponse> allUsers = userService.getAllUsers();
+        UserPage first = userService.getUsers(null, 2);
+        UserPage second = userService.getUsers(first.getNextCursor(), 2);
+        UserPage last = userService.getUsers(second.getNextCursor(), 2);
 
-        assertThat(allUsers).hasSize(count);
+        assertThat(first.getUsers()).hasSize(2);
+        assertThat(second.getUsers()).hasSize(2);
+        assertThat(last.getUsers()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(second.getUsers().get(0).getId()).isGreaterThan(first.getUsers().get(1).getId());
     }
 
+    @Test
+    void getUsers_NonPositiveLimit_ShouldThrowException() {
+        assertThatThrownBy(() -> userService.getUsers(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exportUsers_ShouldVisitEveryUserInIdOrder() {
+        for (int i = 0; i < 3; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Export " + i);
+            request.setEmail("export" + i + "-" + UUID.randomUUID() + "@example.com");
+            request.setAge(30 + i);
+            userService.createUser(request);
+        }
+
+        List<UserResponse> exported = new ArrayList<>();
+        long count = userService.exportUsers(exported::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).extracting(UserResponse::getName)
+                .containsExactly("Export 0", "Export 1", "Export 2");
+    }
+
+    @Test
+    void createUsers_ShouldReportEachItemWithoutAbortingBatch() {
+        String existingEmail = "existing-" + UUID.randomUUID() + "@example.com";
+        UserRequest existing = new UserRequest();
+        existing.setName("Existing");
+        existing.setEmail(existingEmail);
+        existing.setAge(40);
+        userService.createUser(existing);
+
+        String newEmail = "batch-" + UUID.randomUUID() + "@example.com";
+        UserRequest valid = new UserRequest();
+        valid.setName("Batch User");
+        valid.setEmail(newEmail);
+        valid.setAge(25);
+
+        UserRequest invalid = new UserRequest();
+        invalid.setName("B");
+        invalid.setEmail("batch-invalid@example.com");
+        invalid.setAge(25);
+
+        UserRequest repeated = new UserRequest();
+        repeated.setName("Repeated");
+        repeated.setEmail(newEmail.toUpperCase());
+        repeated.setAge(26);
+
+        UserRequest conflicting = new UserRequest();
+        conflicting.setName("Conflicting");
+        conflicting.setEmail(existingEmail);
+        conflicting.setAge(27);
+
+        UserBatchResponse response = userService.createUsers(List.of(valid, invalid, repeated, conflicting));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(UserBatchItemResult::getStatus)
+                .containsExactly(201, 400, 409, 409);
+        assertThat(response.getResults().get(0).getUser().getId()).isNotNull();
+        assertThat(response.getResults().get(1).getDetails()).containsKey("name");
+        assertThat(userService.getUserByEmail(newEmail).getName()).isEqualTo("Batch User");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createUsers_DuplicateInsertedConcurrently_ShouldFailOnlyThatItem() {
+        String takenEmail = "raced-" + UUID.randomUUID() + "@example.com";
+        UserRequest existing = new UserRequest();
+        existing.setName("Raced");
+        existing.setEmail(takenEmail);
+        existing.setAge(40);
+        userService.createUser(existing);
+
+        // the pre-check misses the row, as if it was committed between findExistingEmails and the insert
+        UserRepository racingRepository = mock(UserRepository.class, AdditionalAnswers.delegatesTo(userRepository));
+        doReturn(List.of()).when(racingRepository).findExistingEmails(any());
+        UserService racingService = new UserService(racingRepository, userEventOutbox, entityManager,
+                userCache, emailIndex, transactionTemplate, validator, readYourWrites, bulkReadSession);
+
+        List<UserRequest> requests = new ArrayList<>();
+        for (String name : List.of("Before", "Raced Again", "After")) {
+            UserRequest request = new UserRequest();
+            request.setName(name);
+            request.setEmail(name.equals("Raced Again") ? takenEmail
+                    : name.toLowerCase() + "-" + UUID.randomUUID() + "@example.com");
+            request.setAge(30);
+            requests.add(request);
+        }
+
+        try {
+            UserBatchResponse response = racingService.createUsers(requests);
+
+            assertThat(response.getCreated()).isEqualTo(2);
+            assertThat(response.getResults()).extracting(UserBatchItemResult::getStatus)
+                    .containsExactly(201, 409, 201);
+            assertThat(userRepository.count()).isEqualTo(3);
+            assertThat(userRepository.findByEmail(takenEmail)).hasValueSatisfying(user ->
+                    assertThat(user.getName()).isEqualTo("Raced"));
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void createUsers_EmptyBatch_ShouldThrowException() {
+        assertThatThrownBy(() -> userService.createUsers(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 
     @Test
     void createUser_DuplicateEmail_ShouldThrowException() {
@@ -150,6 +401,72 @@ class UserServiceIntegrationTest {
     }
 
     @Test
+    void createUser_ShouldWriteOutboxEventInSameTransaction() {
+        UserRequest request = new UserRequest();
+        String email = "outbox-" + UUID.randomUUID() + "@example.com";
+        request.setName("Outbox User");
+        request.setEmail(email);
+        request.setAge(28);
+
+        UserResponse created = userService.createUser(request);
+
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getUserId().equals(created.getId()))
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly("USER_CREATED");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createUser_RecentDuplicate_ShouldBeRejectedWithoutInsert() {
+        String email = "recent-" + UUID.randomUUID() + "@example.com";
+        UserRequest request = new UserRequest();
+        request.setName("Recent User");
+        request.setEmail(email);
+        request.setAge(30);
+
+        try {
+            userService.createUser(request);
+            long outboxRows = outboxEventRepository.count();
+
+            request.setEmail(email.toUpperCase());
+            assertThatThrownBy(() -> userService.createUser(request))
+                    .isInstanceOf(UserAlreadyExistsException.class)
+                    .hasMessageContaining(email);
+            assertThat(outboxEventRepository.count()).isEqualTo(outboxRows);
+            assertThat(emailIndex.lookup(email)).isEqualTo(EmailIndex.Membership.RECENT);
+
+            userService.deleteUser(userRepository.findByEmail(email).orElseThrow().getId());
+            request.setEmail(email);
+            assertThat(userService.createUser(request).getEmail()).isEqualTo(email);
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void createUser_RecentButDeletedElsewhere_ShouldConfirmAndInsert() {
+        String email = "elsewhere-" + UUID.randomUUID() + "@example.com";
+        UserRequest request = new UserRequest();
+        request.setName("Elsewhere User");
+        request.setEmail(email);
+        request.setAge(30);
+
+        try {
+            userService.createUser(request);
+            // a delete through another instance bypasses this instance's email index
+            userRepository.delete(userRepository.findByEmail(email).orElseThrow());
+            assertThat(emailIndex.lookup(email)).isEqualTo(EmailIndex.Membership.RECENT);
+
+            assertThat(userService.createUser(request).getEmail()).isEqualTo(email);
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void createUser_ShouldSendKafkaEvent() throws Exception {
         UserRequest request = new UserRequest();
         String email = "kafka-" + UUID.randomUUID() + "@example.com";
@@ -162,22 +479,14 @@ class UserServiceIntegrationTest {
 
             userService.createUser(request);
 
-            ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(3));
-            assertThat(records.count()).isGreaterThan(0);
-
-            boolean hasEvent = false;
-            for (var record : records) {
-                if (record.key().equals(email) &&
-                        record.value().contains("\"eventType\":\"USER_CREATED\"")) {
-                    hasEvent = true;
-                    break;
-                }
-            }
-            assertThat(hasEvent).isTrue();
+            assertThat(awaitEvent(consumer, email, "USER_CREATED")).isTrue();
+        } finally {
+            userRepository.deleteAll();
         }
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void deleteUser_ShouldSendKafkaEvent() throws Exception {
         UserRequest request = new UserRequest();
         String email = "delete-kafka-" + UUID.randomUUID() + "@example.com";
@@ -193,21 +502,49 @@ class UserServiceIntegrationTest {
 
             userService.deleteUser(created.getId());
 
-            ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(3));
-            assertThat(records.count()).isGreaterThan(0);
+            assertThat(awaitEvent(consumer, email, "USER_DELETED")).isTrue();
+        }
+    }
+
+    private boolean awaitEvent(Consumer<String, String> consumer, String email, String eventType) {
+        long deadline = System.currentTimeMillis() + 10_000;
 
-            boolean hasEvent = false;
+        while (System.currentTimeMillis() < deadline) {
+            ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(500));
             for (var record : records) {
                 if (record.key().equals(email) &&
-                        record.value().contains("\"eventType\":\"USER_DELETED\"")) {
-                    hasEvent = true;
-                    break;
+                        record.value().contains("\"eventType\":\"" + eventType + "\"")) {
+                    return true;
                 }
             }
-            assertThat(hasEvent).isTrue();
         }
+        return false;
     }
 
+    @Test
+    void updateUser_EmailTaken_ShouldThrowStacklessException() {
+        UserRequest first = new UserRequest();
+        first.setName("First");
+        first.setEmail("taken-" + UUID.randomUUID() + "@example.com");
+        first.setAge(25);
+        userService.createUser(first);
+
+        UserRequest second = new UserRequest();
+        second.setName("Second");
+        second.setEmail("other-" + UUID.randomUUID() + "@example.com");
+        second.setAge(25);
+        UserResponse other = userService.createUser(second);
+
+        UserUpdateRequest updateRequest = new UserUpdateRequest();
+        updateRequest.setEmail(first.getEmail());
+
+        assertThatThrownBy(() -> userService.updateUser(other.getId(), updateRequest))
+                .isInstanceOf(UserAlreadyExistsException.class)
+                .satisfies(e -> {
+                    assertThat(((UserAlreadyExistsException) e).getCode()).isEqualTo(ErrorCode.EMAIL_ALREADY_EXISTS);
+                    assertThat(e.getStackTrace()).isEmpty();
+                });
+    }
 
     @Test
     void getUserById_NonExisting_ShouldThrowException() {